@@ -0,0 +1,61 @@
+package com.onlinebookstore.archive;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.onlinebookstore.service.OrderArchiveService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically moves submitted orders older than {@code orders.archive.age} to the archive
+ * tables, in batches of {@code orders.archive.batch-size}, each in its own short transaction
+ * so row locks and undo stay small. A run stops after {@code orders.archive.max-batches}
+ * batches and the backlog continues on the next one.
+ */
+@Component
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class OrderArchiveJob {
+
+	private final OrderArchiveService orderArchiveService;
+	private final Duration age;
+	private final int batchSize;
+	private final int maxBatches;
+
+	public OrderArchiveJob(OrderArchiveService orderArchiveService,
+			@Value("${orders.archive.age:365d}") Duration age,
+			@Value("${orders.archive.batch-size:500}") int batchSize,
+			@Value("${orders.archive.max-batches:200}") int maxBatches) {
+		this.orderArchiveService = orderArchiveService;
+		this.age = age;
+		this.batchSize = batchSize;
+		this.maxBatches = maxBatches;
+	}
+
+	@Scheduled(fixedDelayString = "${orders.archive.interval:1h}", initialDelayString = "${orders.archive.interval:1h}")
+	public void archive() {
+		Date submittedBefore = new Date(System.currentTimeMillis() - age.toMillis());
+		int archived = 0;
+		try {
+			for (int batch = 0; batch < maxBatches; batch++) {
+				int moved = orderArchiveService.archiveBatch(submittedBefore, batchSize);
+				archived += moved;
+				if (moved < batchSize) {
+					break;
+				}
+			}
+		} catch (RuntimeException e) {
+			// Another instance archiving the same batch fails on the archive primary key; retried next run
+			log.error("Order archiving stopped after {} orders: {}", archived, e.getMessage());
+		}
+		if (archived > 0) {
+			log.info("Archived {} orders submitted before {}", archived, submittedBefore);
+		}
+	}
+}
@@ -0,0 +1,51 @@
+package com.onlinebookstore.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.onlinebookstore.config.CacheConfiguration;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
+import com.onlinebookstore.event.CatalogBulkLoadedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies committed book writes to the catalog caches entry by entry: the changed
+ * book is replaced or evicted under its own key and only the full-listing entry,
+ * which contains it, is dropped.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+
+	private final CacheManager cacheManager;
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookChanged(BookChangedEvent event) {
+		cache(CacheConfiguration.BOOKS).put(event.getBook().getId(), event.getBook());
+		cache(CacheConfiguration.BOOK_LIST).evict(CacheConfiguration.ALL_KEY);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookDeleted(BookDeletedEvent event) {
+		cache(CacheConfiguration.BOOKS).evict(event.getBookId());
+		cache(CacheConfiguration.BOOK_LIST).evict(CacheConfiguration.ALL_KEY);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogBulkLoaded(CatalogBulkLoadedEvent event) {
+		// Imported books are new ids, so only the full listing is stale
+		cache(CacheConfiguration.BOOK_LIST).evict(CacheConfiguration.ALL_KEY);
+	}
+
+	private Cache cache(String name) {
+		Cache cache = cacheManager.getCache(name);
+		if (cache == null) {
+			throw new IllegalStateException("Cache not configured: " + name);
+		}
+		return cache;
+	}
+}
@@ -0,0 +1,98 @@
+package com.onlinebookstore.cache;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onlinebookstore.payment.PaymentGateway;
+import com.onlinebookstore.payment.PaymentIntentResult;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Last known state of each payment intent, filled from intent creation, confirmations and
+ * webhook events, so status polling is answered locally. Reads from the gateway are bounded:
+ * concurrent misses and refreshes of one intent share a single outstanding call, an entry is
+ * refreshed in the background at most once per {@code payment.state-cache.refresh-after}
+ * while polls keep getting the previous state, and intents in a final state are never
+ * fetched again. Published to the actuator as the {@value #CACHE_NAME} cache.
+ */
+@Component
+public class PaymentStateCache {
+
+	public static final String CACHE_NAME = "paymentStates";
+
+	private static final Set<String> FINAL_STATUSES = Set.of("succeeded", "canceled");
+
+	private final AsyncLoadingCache<String, PaymentIntentResult> cache;
+
+	public PaymentStateCache(PaymentGateway paymentGateway,
+			@Value("${payment.state-cache.max-size:100000}") long maxSize,
+			@Value("${payment.state-cache.refresh-after:5s}") Duration refreshAfter,
+			@Value("${payment.state-cache.expire-after-access:1h}") Duration expireAfterAccess,
+			MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.refreshAfterWrite(refreshAfter)
+				.expireAfterAccess(expireAfterAccess)
+				.recordStats()
+				.buildAsync(new GatewayLoader(paymentGateway));
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/** The known state, or the gateway's answer shared by every caller waiting on the same intent */
+	public CompletableFuture<PaymentIntentResult> get(String paymentIntentId) {
+		return cache.get(paymentIntentId);
+	}
+
+	/**
+	 * Checks the intent with the gateway now, joining a check already in flight; an intent in
+	 * a final state is answered locally.
+	 */
+	public CompletableFuture<PaymentIntentResult> refresh(String paymentIntentId) {
+		return cache.synchronous().refresh(paymentIntentId);
+	}
+
+	/** Records a state reported by the gateway; a final state is never replaced */
+	public void put(PaymentIntentResult intent) {
+		cache.asMap().compute(intent.getId(), (id, current) ->
+				isFinal(current) ? current : CompletableFuture.completedFuture(intent));
+	}
+
+	public static boolean isFinal(String status) {
+		return FINAL_STATUSES.contains(status);
+	}
+
+	private static boolean isFinal(CompletableFuture<PaymentIntentResult> state) {
+		return state != null && state.isDone() && !state.isCompletedExceptionally() && isFinal(state.join().getStatus());
+	}
+
+	private static class GatewayLoader implements AsyncCacheLoader<String, PaymentIntentResult> {
+
+		private final PaymentGateway paymentGateway;
+
+		GatewayLoader(PaymentGateway paymentGateway) {
+			this.paymentGateway = paymentGateway;
+		}
+
+		@Override
+		public CompletableFuture<PaymentIntentResult> asyncLoad(String paymentIntentId, Executor executor) {
+			return paymentGateway.retrievePaymentIntent(paymentIntentId);
+		}
+
+		@Override
+		public CompletableFuture<PaymentIntentResult> asyncReload(String paymentIntentId, PaymentIntentResult oldValue,
+				Executor executor) {
+			return isFinal(oldValue.getStatus()) ? CompletableFuture.completedFuture(oldValue)
+					: paymentGateway.retrievePaymentIntent(paymentIntentId);
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package com.onlinebookstore.cache;
+
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import com.onlinebookstore.config.CacheConfiguration;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Current role of each user, held briefly so claims-based authentication notices
+ * role changes and deleted users without querying {@code users} on every request.
+ * A missing user is cached as {@code null}. The application never changes a role or
+ * deletes a user, so entries are not evicted early: such a change made in the database
+ * is noticed once {@code cache.user-roles.ttl} expires.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRoleCache {
+
+	private final UserRepository userRepository;
+
+	@Cacheable(cacheNames = CacheConfiguration.USER_ROLES, key = "#userId")
+	public UserRole currentRole(Long userId) {
+		return userRepository.findUserRoleById(userId);
+	}
+}
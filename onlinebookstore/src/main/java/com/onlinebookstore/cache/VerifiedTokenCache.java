@@ -0,0 +1,81 @@
+package com.onlinebookstore.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.onlinebookstore.filters.JwtPrincipal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Tokens whose signature and claims were already verified, keyed by the SHA-256 of
+ * the token so raw credentials are never held as keys. Each entry expires at the
+ * token's own {@code exp}. Hit, miss and eviction counts are published to the
+ * actuator as the {@value #CACHE_NAME} cache.
+ */
+@Component
+public class VerifiedTokenCache {
+
+	public static final String CACHE_NAME = "verifiedTokens";
+
+	private final Cache<String, JwtPrincipal> cache;
+
+	public VerifiedTokenCache(@Value("${jwt.token-cache.max-size:10000}") long maxSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfter(new ExpireAtTokenExpiry())
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/** Returns the principal of a previously verified, unexpired token, or null */
+	public JwtPrincipal get(String token) {
+		return cache.getIfPresent(hash(token));
+	}
+
+	public void put(String token, JwtPrincipal principal) {
+		if (principal.getExpiresAt() != null) {
+			cache.put(hash(token), principal);
+		}
+	}
+
+	private static String hash(String token) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			// Every JRE is required to provide SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static class ExpireAtTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+		@Override
+		public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+			long remainingMillis = principal.getExpiresAt().getTime() - System.currentTimeMillis();
+			return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, principal, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
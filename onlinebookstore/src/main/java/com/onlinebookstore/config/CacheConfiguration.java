@@ -0,0 +1,83 @@
+package com.onlinebookstore.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Size-bounded, expiring caches for catalog reads and user roles. Statistics are recorded so the
+ * actuator publishes hit/miss/eviction metrics for every cache declared here.
+ * <p>
+ * The caching advice runs outside the transactional advice, so a hit never opens a
+ * transaction and evictions declared on mutators happen after commit.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfiguration {
+
+	/** BookDTO by book id */
+	public static final String BOOKS = "books";
+	/** Full catalog listing, single entry under {@link #ALL_KEY} */
+	public static final String BOOK_LIST = "bookList";
+	/** All categories, single entry under {@link #ALL_KEY} */
+	public static final String CATEGORIES = "categories";
+	/** Current {@link com.onlinebookstore.enums.UserRole} by user id, for claims-based authentication */
+	public static final String USER_ROLES = "userRoles";
+
+	public static final String ALL_KEY = "all";
+	/** {@link #ALL_KEY} as a SpEL literal, for {@code key} attributes of cache annotations */
+	public static final String ALL_KEY_EXPRESSION = "'" + ALL_KEY + "'";
+
+	@Value("${cache.books.max-size:10000}")
+	private long booksMaxSize;
+
+	@Value("${cache.books.ttl:10m}")
+	private Duration booksTtl;
+
+	@Value("${cache.catalog-lists.ttl:5m}")
+	private Duration catalogListsTtl;
+
+	@Value("${cache.user-roles.max-size:10000}")
+	private long userRolesMaxSize;
+
+	@Value("${cache.user-roles.ttl:60s}")
+	private Duration userRolesTtl;
+
+	@Bean
+	public CacheManager cacheManager() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+		// Static mode: an undeclared cache name fails instead of creating an unbounded cache. Names
+		// passed here would get default, unbounded caches, so every cache is registered below.
+		cacheManager.setCacheNames(List.of());
+		cacheManager.registerCustomCache(BOOKS, Caffeine.newBuilder()
+				.maximumSize(booksMaxSize)
+				.expireAfterWrite(booksTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(BOOK_LIST, Caffeine.newBuilder()
+				.maximumSize(1)
+				.expireAfterWrite(catalogListsTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(CATEGORIES, Caffeine.newBuilder()
+				.maximumSize(1)
+				.expireAfterWrite(catalogListsTtl)
+				.recordStats()
+				.build());
+		cacheManager.registerCustomCache(USER_ROLES, Caffeine.newBuilder()
+				.maximumSize(userRolesMaxSize)
+				.expireAfterWrite(userRolesTtl)
+				.recordStats()
+				.build());
+		return cacheManager;
+	}
+}
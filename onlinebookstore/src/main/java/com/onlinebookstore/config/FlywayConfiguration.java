@@ -0,0 +1,54 @@
+package com.onlinebookstore.config;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.api.MigrationInfo;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Refuses to migrate a database whose existing rows would break the unique indexes of a pending
+ * migration, naming the duplicates instead of failing halfway through the migration.
+ */
+@Configuration
+public class FlywayConfiguration {
+
+	/** Migration version to the query listing the values its unique index would reject */
+	private static final Map<String, String> DUPLICATE_CHECKS = Map.of(
+			"3", "SELECT email FROM users GROUP BY email HAVING COUNT(*) > 1",
+			"4", "SELECT user_id FROM orders WHERE order_status = 0 GROUP BY user_id HAVING COUNT(*) > 1");
+
+	@Bean
+	public FlywayMigrationStrategy duplicateCheckingMigrationStrategy() {
+		return flyway -> {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+			for (MigrationInfo migration : flyway.info().pending()) {
+				String check = migration.getVersion() == null ? null
+						: DUPLICATE_CHECKS.get(migration.getVersion().getVersion());
+				if (check == null) {
+					continue;
+				}
+				List<String> duplicates = duplicates(jdbcTemplate, check);
+				if (!duplicates.isEmpty()) {
+					throw new IllegalStateException("Migration V" + migration.getVersion().getVersion() + " ("
+							+ migration.getDescription() + ") adds a unique index, but these values are duplicated: "
+							+ duplicates + ". Resolve them and restart.");
+				}
+			}
+			flyway.migrate();
+		};
+	}
+
+	private static List<String> duplicates(JdbcTemplate jdbcTemplate, String check) {
+		try {
+			return jdbcTemplate.queryForList(check + " LIMIT 20", String.class);
+		} catch (BadSqlGrammarException e) {
+			// New database, the table is created by an earlier pending migration
+			return List.of();
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.onlinebookstore.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.onlinebookstore.enums.PaymentGatewayType;
+import com.onlinebookstore.payment.CircuitBreaker;
+import com.onlinebookstore.payment.PaymentGateway;
+import com.onlinebookstore.payment.ResilientPaymentGateway;
+import com.onlinebookstore.payment.StripePaymentGateway;
+import com.onlinebookstore.payment.StubPaymentGateway;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * The payment gateway: Stripe, or an offline stub selected with {@code payment.gateway=stub},
+ * wrapped in a bulkhead, per-attempt and overall deadlines, jittered retries and a circuit breaker.
+ * Free bulkhead permits and the breaker state are published as gauges.
+ */
+@Configuration
+public class PaymentGatewayConfiguration {
+
+	@Value("${payment.gateway:stripe}")
+	private PaymentGatewayType gatewayType;
+
+	@Value("${stripe.api.key}")
+	private String stripeApiKey;
+
+	@Value("${payment.max-concurrent-calls:20}")
+	private int maxConcurrentCalls;
+
+	@Value("${payment.connect-timeout:2s}")
+	private Duration connectTimeout;
+
+	@Value("${payment.read-timeout:5s}")
+	private Duration readTimeout;
+
+	@Value("${payment.call-timeout:8s}")
+	private Duration callTimeout;
+
+	@Value("${payment.deadline:15s}")
+	private Duration deadline;
+
+	@Value("${payment.max-attempts:3}")
+	private int maxAttempts;
+
+	@Value("${payment.retry-backoff:200ms}")
+	private Duration retryBackoff;
+
+	@Value("${payment.circuit-breaker.failure-threshold:5}")
+	private int failureThreshold;
+
+	@Value("${payment.circuit-breaker.open-duration:30s}")
+	private Duration openDuration;
+
+	@Value("${payment.stub.latency:50ms}")
+	private Duration stubLatency;
+
+	@Bean(destroyMethod = "close")
+	public PaymentGateway paymentGateway(MeterRegistry meterRegistry) {
+		PaymentGateway gateway = gatewayType == PaymentGatewayType.STUB
+				? new StubPaymentGateway(stubLatency)
+				: new StripePaymentGateway(stripeApiKey, connectTimeout, readTimeout, maxConcurrentCalls);
+		ResilientPaymentGateway resilientGateway = new ResilientPaymentGateway(gateway, maxConcurrentCalls,
+				callTimeout, deadline, maxAttempts, retryBackoff, new CircuitBreaker(failureThreshold, openDuration));
+
+		Gauge.builder("bookstore.payment.gateway.permits", resilientGateway, ResilientPaymentGateway::getAvailablePermits)
+				.description("Payment gateway calls that can start before new ones are rejected")
+				.register(meterRegistry);
+		for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+			Gauge.builder("bookstore.payment.gateway.circuit", resilientGateway,
+					g -> g.getCircuitState() == state ? 1 : 0)
+					.tag("state", state.name().toLowerCase())
+					.register(meterRegistry);
+		}
+		return resilientGateway;
+	}
+}
@@ -0,0 +1,12 @@
+package com.onlinebookstore.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the payment event sweep.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
@@ -39,7 +39,9 @@ public class WebSecurityConfiguration {
 				.cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(requests -> requests
                         .requestMatchers("/authenticate", "/sign-up").permitAll()
-                        .requestMatchers("/api/payment/config").permitAll()
+                        .requestMatchers("/api/payment/config", "/api/payment/webhook").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole(UserRole.ADMIN.name())
                         .requestMatchers("/api/admin/**").hasRole(UserRole.ADMIN.name())
                         .requestMatchers("/api/customer/**").hasRole(UserRole.USER.name())
                         .requestMatchers("/api/payment/**").hasRole(UserRole.USER.name())
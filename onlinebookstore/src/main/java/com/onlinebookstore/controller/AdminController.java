@@ -1,9 +1,15 @@
 package com.onlinebookstore.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,14 +19,24 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookImportResultDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.dto.CategoryDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderPageDTO;
 import com.onlinebookstore.entity.Book;
 import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.enums.OrderStatus;
 import com.onlinebookstore.service.AdminService;
+import com.onlinebookstore.service.BookImportService;
+import com.onlinebookstore.service.OrderExportService;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -32,6 +48,8 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class AdminController {
 	private final AdminService adminService;
+	private final OrderExportService orderExportService;
+	private final BookImportService bookImportService;
 	
 	@PostMapping("/category")
 	public ResponseEntity<Category> createCategory(@Valid @RequestBody CategoryDTO categoryDTO)
@@ -53,6 +71,20 @@ public class AdminController {
 		return ResponseEntity.status(HttpStatus.CREATED).body(postedBook);
 	}
 	
+	@PostMapping(value = "/books/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+	public ResponseEntity<BookImportResultDTO> importBooks(@RequestParam("file") MultipartFile file,
+			@RequestParam(required = false) DataFormat format) throws IOException
+	{
+		DataFormat resolvedFormat = format;
+		if (resolvedFormat == null) {
+			String name = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+			resolvedFormat = name.endsWith(".ndjson") || name.endsWith(".jsonl") ? DataFormat.NDJSON : DataFormat.CSV;
+		}
+		try (InputStream in = file.getInputStream()) {
+			return ResponseEntity.ok(bookImportService.importBooks(resolvedFormat, in));
+		}
+	}
+	
 	@GetMapping("/books")
 	public ResponseEntity<List<BookDTO>> getAllBooks()
 	{
@@ -60,6 +92,13 @@ public class AdminController {
 		return ResponseEntity.ok(bookDtoList);
 	}
 	
+	@GetMapping("/books/page")
+	public ResponseEntity<BookPageDTO> getBooksPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size)
+	{
+		return ResponseEntity.ok(adminService.getBooksPage(cursor, size));
+	}
+	
 	@DeleteMapping("/book/{id}")
 	public ResponseEntity<Void> deleteBook(@PathVariable Long id)
 	{
@@ -97,6 +136,27 @@ public class AdminController {
 		return ResponseEntity.ok(orderDTOList);
 	}
 	
+	@GetMapping("/orders/page")
+	public ResponseEntity<OrderPageDTO> getOrdersPage(@RequestParam(required = false) OrderStatus status,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size)
+	{
+		return ResponseEntity.ok(adminService.getOrdersPage(status, from, to, cursor, size));
+	}
+	
+	@GetMapping("/orders/export")
+	public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "NDJSON") DataFormat format,
+			@RequestParam(required = false) OrderStatus status)
+	{
+		StreamingResponseBody body = out -> orderExportService.exportOrders(format, status, out);
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType(format.getContentType()))
+				.header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getExtension() + "\"")
+				.body(body);
+	}
+	
 	@DeleteMapping("/category/{id}")
 	public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
 	    adminService.deleteCategory(id);
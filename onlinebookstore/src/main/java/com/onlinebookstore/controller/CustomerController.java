@@ -6,13 +6,21 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
+import com.onlinebookstore.dto.CartBatchDTO;
 import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.dto.OrderConfirmationDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderHistoryPageDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
 import com.onlinebookstore.dto.PlaceOrderDTO;
+import com.onlinebookstore.dto.SuggestionDTO;
 import com.onlinebookstore.service.CustomerService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -27,6 +35,13 @@ public class CustomerController {
 		return ResponseEntity.ok(bookDtoList);
 	}
 	
+	@GetMapping("/books/page")
+	public ResponseEntity<BookPageDTO> getBooksPage(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size)
+	{
+		return ResponseEntity.ok(customerService.getBooksPage(cursor, size));
+	}
+	
 	@GetMapping("/book/search/{title}")
 	public ResponseEntity<List<BookDTO>> searchBookByTitle(@PathVariable String title)
 	{
@@ -34,6 +49,13 @@ public class CustomerController {
 		return ResponseEntity.ok(bookDtoList);
 	}
 	
+	@GetMapping("/book/suggest/{prefix}")
+	public ResponseEntity<List<SuggestionDTO>> suggestBooks(@PathVariable String prefix,
+			@RequestParam(required = false) Integer limit)
+	{
+		return ResponseEntity.ok(customerService.suggestBooks(prefix, limit));
+	}
+	
 //	@PostMapping("/cart")
 //	public ResponseEntity<?> postBookToCart(@RequestBody CartDTO cartDTO){
 //		System.out.println("Received CartDTO: " +cartDTO);
@@ -42,8 +64,6 @@ public class CustomerController {
 	
 	@PostMapping("/cart")
 	public ResponseEntity<?> postBookToCart(@RequestBody CartDTO cartDTO) {
-	    System.out.println("Received CartDTO: " + cartDTO);
-	    
 	    // Validate that userId and bookId are present
 	    if (cartDTO.getUserId() == null || cartDTO.getBookId() == null) {
 	        return ResponseEntity.badRequest().body("userId and bookId are required");
@@ -78,14 +98,19 @@ public class CustomerController {
 		return ResponseEntity.ok(orderDTO);
 	}
 	
+	@PostMapping("/cart/{userId}/batch")
+	public ResponseEntity<OrderDTO> applyCartOperations(@PathVariable Long userId,@Valid @RequestBody CartBatchDTO cartBatchDTO)
+	{
+		return ResponseEntity.ok(customerService.applyCartOperations(userId,cartBatchDTO.getOperations()));
+	}
+	
 	@PostMapping("/placeOrder")
-	public ResponseEntity<OrderDTO> placeOrder(@RequestBody PlaceOrderDTO placeOrderDTO){
-		System.out.println("Received PlaceOdrderDTO: "+placeOrderDTO);
-		OrderDTO orderDTO=customerService.placeOrder(placeOrderDTO);
-		if(orderDTO==null) {
+	public ResponseEntity<OrderConfirmationDTO> placeOrder(@RequestBody PlaceOrderDTO placeOrderDTO){
+		OrderConfirmationDTO confirmationDTO=customerService.placeOrder(placeOrderDTO);
+		if(confirmationDTO==null) {
 			return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
 		}
-		return ResponseEntity.status(HttpStatus.CREATED).body(orderDTO);
+		return ResponseEntity.status(HttpStatus.CREATED).body(confirmationDTO);
 		
 	}
 	
@@ -96,6 +121,20 @@ public class CustomerController {
 		return ResponseEntity.ok(orderDTOList);
 	}
 	
+	@GetMapping("/orders/{userId}/page")
+	public ResponseEntity<OrderHistoryPageDTO> getOrderHistory(@PathVariable Long userId,
+			@RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size)
+	{
+		return ResponseEntity.ok(customerService.getOrderHistory(userId, cursor, size));
+	}
+	
+	@GetMapping("/orders/{userId}/items")
+	public ResponseEntity<Map<Long, List<OrderItemDTO>>> getOrderItems(@PathVariable Long userId,
+			@RequestParam List<Long> orderIds)
+	{
+		return ResponseEntity.ok(customerService.getOrderItems(userId, orderIds));
+	}
+	
 	@DeleteMapping("/cart/{userId}/remove/{bookId}")
 	public ResponseEntity<Void> removeBookFromCart(@PathVariable Long userId, @PathVariable Long bookId) {
 	    customerService.removeBookFromCart(userId, bookId);
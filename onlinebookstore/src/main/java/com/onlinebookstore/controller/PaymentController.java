@@ -1,6 +1,5 @@
 package com.onlinebookstore.controller;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,21 +8,27 @@ import org.springframework.web.bind.annotation.*;
 import com.onlinebookstore.dto.PaymentDTO;
 import com.onlinebookstore.dto.PaymentResponseDTO;
 import com.onlinebookstore.service.PaymentService;
+import com.onlinebookstore.service.PaymentWebhookService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+/**
+ * Gateway-backed handlers return futures, so the request thread is released while the call is in flight
+ */
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/payment")
 @Slf4j
 public class PaymentController {
 
-    @Autowired
-    private PaymentService paymentService;
+    private final PaymentService paymentService;
+
+    private final PaymentWebhookService paymentWebhookService;
 
     @Value("${stripe.publishable.key}")
     private String stripePublishableKey;
@@ -42,51 +47,61 @@ public class PaymentController {
      * Create a payment intent for processing payment
      */
     @PostMapping("/create-payment-intent")
-    public ResponseEntity<PaymentResponseDTO> createPaymentIntent(@RequestBody PaymentDTO paymentDTO) {
+    public CompletableFuture<ResponseEntity<PaymentResponseDTO>> createPaymentIntent(@RequestBody PaymentDTO paymentDTO) {
         log.info("Creating payment intent for user: {}, amount: {}", 
                 paymentDTO.getUserId(), paymentDTO.getAmount());
         
-        PaymentResponseDTO response = paymentService.createPaymentIntent(paymentDTO);
-        
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        return paymentService.createPaymentIntent(paymentDTO).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+        });
     }
 
     /**
      * Confirm payment after successful Stripe transaction
      */
     @PostMapping("/confirm")
-    public ResponseEntity<PaymentResponseDTO> confirmPayment(
+    public CompletableFuture<ResponseEntity<PaymentResponseDTO>> confirmPayment(
             @RequestParam String paymentIntentId,
             @RequestParam Long orderId) {
         log.info("Confirming payment for order: {}, paymentIntent: {}", orderId, paymentIntentId);
         
-        PaymentResponseDTO response = paymentService.confirmPayment(paymentIntentId, orderId);
-        
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-        }
+        return paymentService.confirmPayment(paymentIntentId, orderId).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+            }
+        });
     }
 
     /**
      * Get payment status
      */
     @GetMapping("/status/{paymentIntentId}")
-    public ResponseEntity<PaymentResponseDTO> getPaymentStatus(@PathVariable String paymentIntentId) {
+    public CompletableFuture<ResponseEntity<PaymentResponseDTO>> getPaymentStatus(@PathVariable String paymentIntentId) {
         log.info("Getting payment status for: {}", paymentIntentId);
         
-        PaymentResponseDTO response = paymentService.getPaymentStatus(paymentIntentId);
-        
-        if (response.isSuccess()) {
-            return ResponseEntity.ok(response);
-        } else {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-        }
+        return paymentService.getPaymentStatus(paymentIntentId).thenApply(response -> {
+            if (response.isSuccess()) {
+                return ResponseEntity.ok(response);
+            } else {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            }
+        });
     }
-}
 
+    /**
+     * Stripe webhook: verified and recorded here, applied to the order asynchronously.
+     * Redeliveries of an event already received are acknowledged without being applied again.
+     */
+    @PostMapping("/webhook")
+    public ResponseEntity<Void> handleWebhook(@RequestBody String payload,
+            @RequestHeader("Stripe-Signature") String signature) {
+        paymentWebhookService.receive(payload, signature);
+        return ResponseEntity.ok().build();
+    }
+}
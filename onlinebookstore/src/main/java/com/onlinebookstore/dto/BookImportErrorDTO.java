@@ -0,0 +1,14 @@
+package com.onlinebookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportErrorDTO {
+	/** 1-based line of the upload the record starts on */
+	private long line;
+	private String message;
+}
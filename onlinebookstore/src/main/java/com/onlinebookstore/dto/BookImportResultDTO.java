@@ -0,0 +1,16 @@
+package com.onlinebookstore.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BookImportResultDTO {
+	private long totalRows;
+	private long imported;
+	private long failed;
+	/** The first errors found; {@link #failed} counts all of them */
+	private List<BookImportErrorDTO> errors = new ArrayList<>();
+	private long durationMillis;
+}
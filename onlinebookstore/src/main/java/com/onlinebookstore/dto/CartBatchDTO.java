@@ -0,0 +1,15 @@
+package com.onlinebookstore.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CartBatchDTO {
+	@NotEmpty(message = "At least one operation is required")
+	@Size(max = 500, message = "At most 500 operations per batch")
+	private List<@Valid CartOperationDTO> operations;
+}
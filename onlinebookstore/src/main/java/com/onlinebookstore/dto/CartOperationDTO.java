@@ -0,0 +1,18 @@
+package com.onlinebookstore.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class CartOperationDTO {
+	@NotNull(message = "bookId is required")
+	private Long bookId;
+
+	/** Copies to add (positive) or take away (negative) */
+	@NotNull(message = "delta is required")
+	@Min(value = -1000, message = "delta must be between -1000 and 1000")
+	@Max(value = 1000, message = "delta must be between -1000 and 1000")
+	private Long delta;
+}
@@ -0,0 +1,26 @@
+package com.onlinebookstore.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import com.onlinebookstore.enums.OrderStatus;
+
+import lombok.Data;
+
+/**
+ * Response of place-order. Built from the order's own columns and a projection of its lines,
+ * so serializing it never touches an entity, a lazy association or the user.
+ */
+@Data
+public class OrderConfirmationDTO {
+	private Long orderId;
+	private OrderStatus orderStatus;
+	private Date date;
+	private Long amount;
+	private String address;
+	private String paymentType;
+	private String orderDescription;
+	/** Total copies across all lines */
+	private long itemCount;
+	private List<OrderConfirmationLineDTO> lines;
+}
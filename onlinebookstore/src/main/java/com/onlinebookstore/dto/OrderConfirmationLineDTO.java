@@ -0,0 +1,16 @@
+package com.onlinebookstore.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One cart line of an order confirmation, read as a projection */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderConfirmationLineDTO {
+	private Long bookId;
+	private String bookTitle;
+	private Long quantity;
+	private Long price;
+}
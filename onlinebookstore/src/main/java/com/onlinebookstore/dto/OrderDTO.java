@@ -3,7 +3,6 @@ package com.onlinebookstore.dto;
 import java.util.Date;
 import java.util.List;
 
-import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.enums.OrderStatus;
 
 import lombok.Data;
@@ -18,7 +17,6 @@ public class OrderDTO {
 	private OrderStatus orderStatus;
 	private String paymentType;
 	private String username;
-	private Order order;
 	
 	
 }
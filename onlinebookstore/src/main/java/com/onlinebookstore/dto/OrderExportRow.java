@@ -0,0 +1,33 @@
+package com.onlinebookstore.dto;
+
+import java.util.Date;
+
+import com.onlinebookstore.enums.OrderStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One cart line of an exported order, with the order columns repeated. Line columns are
+ * null for an order without items.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderExportRow {
+	private Long orderId;
+	private Date date;
+	private OrderStatus orderStatus;
+	private Long amount;
+	private String address;
+	private String paymentType;
+	private String description;
+	private Long userId;
+	private String username;
+	private Long cartItemId;
+	private Long bookId;
+	private String bookTitle;
+	private Long quantity;
+	private Long price;
+}
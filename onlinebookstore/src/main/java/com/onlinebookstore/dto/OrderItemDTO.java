@@ -0,0 +1,5 @@
+package com.onlinebookstore.dto;
+
+/** One line of a submitted order, as returned by the batched order items endpoint */
+public record OrderItemDTO(Long orderId, Long bookId, String bookTitle, Long quantity, Long price) {
+}
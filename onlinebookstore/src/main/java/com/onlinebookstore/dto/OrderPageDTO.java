@@ -0,0 +1,13 @@
+package com.onlinebookstore.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class OrderPageDTO {
+	private List<OrderDTO> orders;
+	private String nextCursor;
+	private boolean hasMore;
+	private int size;
+}
@@ -0,0 +1,13 @@
+package com.onlinebookstore.dto;
+
+import java.util.Date;
+
+import com.onlinebookstore.enums.OrderStatus;
+
+/**
+ * An order's own columns, read as a constructor projection from the hot or the archive table;
+ * its lines are fetched separately, for the orders the client opens.
+ */
+public record OrderSummaryDTO(Long id, Date date, OrderStatus orderStatus, Long amount, String address,
+		String paymentType, String orderDescription) {
+}
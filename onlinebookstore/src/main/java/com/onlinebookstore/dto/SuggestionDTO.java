@@ -0,0 +1,15 @@
+package com.onlinebookstore.dto;
+
+import com.onlinebookstore.enums.SuggestionType;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionDTO {
+	private String text;
+	private SuggestionType type;
+}
@@ -0,0 +1,23 @@
+package com.onlinebookstore.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/** A line of an {@link ArchivedOrder}, with the book title it had when the order was archived */
+@Entity
+@Data
+@Table(name="cart_items_archive")
+public class ArchivedCartItem {
+	@Id
+	private Long id;
+	@Column(name="order_id")
+	private Long orderId;
+	private Long userId;
+	private Long bookId;
+	private String bookTitle;
+	private Long quantity;
+	private long price;
+}
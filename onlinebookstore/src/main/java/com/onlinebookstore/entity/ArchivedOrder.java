@@ -0,0 +1,49 @@
+package com.onlinebookstore.entity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.onlinebookstore.enums.OrderStatus;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * A submitted order moved out of {@code orders} by the archive job, under its original id.
+ * Rows are only ever written by the bulk copy in {@code ArchivedOrderRepository}.
+ */
+@Entity
+@Table(name="orders_archive")
+@Data
+public class ArchivedOrder {
+	@Id
+	private Long id;
+	@Column(name="user_id")
+	private Long userId;
+	private String description;
+	private String address;
+	private String paymentType;
+	private Date date;
+	private Long price;
+	private OrderStatus orderStatus;
+	private Date archivedAt;
+	@ManyToOne(fetch=FetchType.LAZY)
+	@JoinColumn(name="user_id",insertable=false,updatable=false)
+	@JsonIgnore
+	private User user;
+	@OneToMany(fetch=FetchType.LAZY)
+	@JoinColumn(name="order_id",insertable=false,updatable=false)
+	@OrderBy("id")
+	@JsonIgnore
+	private List<ArchivedCartItem> cartItems=new ArrayList<>();
+}
@@ -0,0 +1,65 @@
+package com.onlinebookstore.entity;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Denormalized read model of a user's pending cart: one row per user, with the lines
+ * stored as a JSON document, so the cart view is a single primary-key read. Rewritten
+ * by every cart mutation and removed when the order is submitted or a book in it changes.
+ */
+@Entity
+@Table(name="cart_summaries", indexes=@Index(name="idx_cart_summaries_order", columnList="orderId"))
+@Data
+public class CartSummary implements Persistable<Long> {
+
+	@Id
+	private Long userId;
+	private Long orderId;
+	private Long total;
+	private Long itemCount;
+	private Date updatedAt;
+
+	@JdbcTypeCode(SqlTypes.JSON)
+	@Column(name="cart_lines")
+	private List<CartSummaryLine> lines=new ArrayList<>();
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean persisted;
+
+	@Override
+	public Long getId() {
+		return userId;
+	}
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		this.persisted = true;
+	}
+}
@@ -0,0 +1,19 @@
+package com.onlinebookstore.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** One line of a {@link CartSummary}, read as a projection of the cart item and its book */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSummaryLine {
+	private Long cartItemId;
+	private Long bookId;
+	private String bookTitle;
+	private Integer unitPrice;
+	private Long quantity;
+	/** Line total */
+	private Long price;
+}
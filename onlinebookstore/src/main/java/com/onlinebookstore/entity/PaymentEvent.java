@@ -0,0 +1,55 @@
+package com.onlinebookstore.entity;
+
+import java.util.Date;
+
+import org.springframework.data.domain.Persistable;
+
+import com.onlinebookstore.enums.PaymentEventStatus;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A payment webhook event, keyed by the provider's event id. New instances are always
+ * inserted, never merged, so a redelivered event fails on the primary key and is
+ * recognised as a duplicate.
+ */
+@Entity
+@Table(name="payment_events")
+@Data
+public class PaymentEvent implements Persistable<String> {
+
+	@Id
+	private String id;
+	private String type;
+	private String paymentIntentId;
+	private String intentStatus;
+	private Long orderId;
+	private PaymentEventStatus status;
+	private Date receivedAt;
+	private Date processedAt;
+
+	@Transient
+	@Getter(AccessLevel.NONE)
+	@Setter(AccessLevel.NONE)
+	private boolean persisted;
+
+	@Override
+	public boolean isNew() {
+		return !persisted;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markPersisted() {
+		this.persisted = true;
+	}
+}
@@ -0,0 +1,24 @@
+package com.onlinebookstore.enums;
+
+public enum DataFormat {
+	/** One JSON object per record, newline separated */
+	NDJSON("application/x-ndjson", "ndjson"),
+	/** Header line, then one comma-separated row per record */
+	CSV("text/csv", "csv");
+
+	private final String contentType;
+	private final String extension;
+
+	DataFormat(String contentType, String extension) {
+		this.contentType = contentType;
+		this.extension = extension;
+	}
+
+	public String getContentType() {
+		return contentType;
+	}
+
+	public String getExtension() {
+		return extension;
+	}
+}
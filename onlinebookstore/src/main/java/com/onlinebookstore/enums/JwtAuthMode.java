@@ -0,0 +1,8 @@
+package com.onlinebookstore.enums;
+
+public enum JwtAuthMode {
+	/** Authentication built from verified token claims, role checked against a short-lived cache */
+	CLAIMS,
+	/** User loaded from the database on every request */
+	DATABASE
+}
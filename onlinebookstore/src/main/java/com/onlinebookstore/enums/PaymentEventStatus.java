@@ -0,0 +1,8 @@
+package com.onlinebookstore.enums;
+
+public enum PaymentEventStatus {
+	/** Verified and recorded, waiting for a worker */
+	RECEIVED,
+	/** Applied to its order */
+	PROCESSED
+}
@@ -0,0 +1,8 @@
+package com.onlinebookstore.enums;
+
+public enum PaymentGatewayType {
+	/** Stripe API */
+	STRIPE,
+	/** In-memory gateway with simulated latency, for offline load tests */
+	STUB
+}
@@ -0,0 +1,6 @@
+package com.onlinebookstore.enums;
+
+public enum SuggestionType {
+	TITLE,
+	AUTHOR
+}
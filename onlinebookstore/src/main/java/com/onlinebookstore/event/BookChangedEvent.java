@@ -0,0 +1,17 @@
+package com.onlinebookstore.event;
+
+import com.onlinebookstore.dto.BookDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the admin service after a book is created or updated. Listeners
+ * that keep derived catalog state (search index, suggestions, caches) react to it
+ * once the surrounding transaction has committed.
+ */
+@Data
+@AllArgsConstructor
+public class BookChangedEvent {
+	private BookDTO book;
+}
@@ -0,0 +1,14 @@
+package com.onlinebookstore.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by the admin service after a book is deleted, either directly or
+ * through the cascade of its category being deleted.
+ */
+@Data
+@AllArgsConstructor
+public class BookDeletedEvent {
+	private Long bookId;
+}
@@ -0,0 +1,14 @@
+package com.onlinebookstore.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published after a bulk import has inserted books outside the entity layer. Too many
+ * books change at once for per-book events, so listeners rebuild their view instead.
+ */
+@Data
+@AllArgsConstructor
+public class CatalogBulkLoadedEvent {
+	private long importedCount;
+}
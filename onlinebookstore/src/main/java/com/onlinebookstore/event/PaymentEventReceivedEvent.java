@@ -0,0 +1,14 @@
+package com.onlinebookstore.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published once a verified payment webhook event has been recorded, for the
+ * payment event worker to apply.
+ */
+@Data
+@AllArgsConstructor
+public class PaymentEventReceivedEvent {
+	private String eventId;
+}
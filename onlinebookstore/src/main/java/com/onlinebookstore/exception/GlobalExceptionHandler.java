@@ -1,5 +1,6 @@
 package com.onlinebookstore.exception;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,6 +20,12 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
 	}
 	
+	/** A unique index lost a race, e.g. two signups with one email or two pending orders for one user */
+	@ExceptionHandler(DataIntegrityViolationException.class)
+	public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException ex){
+		return new ResponseEntity<>("Conflicts with existing data", HttpStatus.CONFLICT);
+	}
+	
 	@ExceptionHandler(BookNotFoundException.class)
 	public ResponseEntity<String> handleBookNotFoundException(BookNotFoundException ex){
 		return new ResponseEntity<>(ex.getMessage(),HttpStatus.NOT_FOUND);
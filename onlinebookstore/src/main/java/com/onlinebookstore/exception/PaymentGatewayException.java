@@ -0,0 +1,24 @@
+package com.onlinebookstore.exception;
+
+/**
+ * A payment gateway call failed. Retryable failures are transient (network, rate limit,
+ * gateway-side errors) and safe to repeat with the same idempotency key.
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+	private final boolean retryable;
+
+	public PaymentGatewayException(String message, boolean retryable) {
+		super(message);
+		this.retryable = retryable;
+	}
+
+	public PaymentGatewayException(String message, boolean retryable, Throwable cause) {
+		super(message, cause);
+		this.retryable = retryable;
+	}
+
+	public boolean isRetryable() {
+		return retryable;
+	}
+}
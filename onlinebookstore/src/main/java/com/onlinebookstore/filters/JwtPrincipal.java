@@ -0,0 +1,44 @@
+package com.onlinebookstore.filters;
+
+import java.security.Principal;
+import java.util.Date;
+
+import com.onlinebookstore.enums.UserRole;
+
+import io.jsonwebtoken.Claims;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Authenticated user as described by a verified token, used as the principal in
+ * {@link com.onlinebookstore.enums.JwtAuthMode#CLAIMS} mode.
+ */
+@Data
+@AllArgsConstructor
+public class JwtPrincipal implements Principal {
+
+	private Long userId;
+	private String username;
+	private UserRole role;
+	private Date expiresAt;
+
+	/** Reads the principal from verified claims; an unknown role claim becomes null */
+	public static JwtPrincipal fromClaims(Claims claims) {
+		String role = claims.get("role", String.class);
+		UserRole userRole = null;
+		if (role != null) {
+			try {
+				userRole = UserRole.valueOf(role);
+			} catch (IllegalArgumentException e) {
+				// left null so claims-based authentication rejects it
+			}
+		}
+		return new JwtPrincipal(claims.get("userId", Long.class), claims.getSubject(), userRole, claims.getExpiration());
+	}
+
+	@Override
+	public String getName() {
+		return username;
+	}
+}
@@ -1,51 +1,137 @@
 package com.onlinebookstore.filters;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.onlinebookstore.service.UserDetailsServiceImpl;
+import com.onlinebookstore.cache.UserRoleCache;
+import com.onlinebookstore.cache.VerifiedTokenCache;
+import com.onlinebookstore.enums.JwtAuthMode;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.metrics.BookstoreMetrics.AuthResult;
 import com.onlinebookstore.util.JwtUtil;
 
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.io.IOException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 
 @Component
+@Slf4j
 public class JwtRequestFilter extends OncePerRequestFilter {
-	@Autowired
-	private JwtUtil jwtUtil;
-	@Autowired
-	private UserDetailsServiceImpl userDetailsService;
+	private final JwtUtil jwtUtil;
+	private final UserDetailsService userDetailsService;
+	private final UserRoleCache userRoleCache;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final JwtAuthMode authMode;
+	private final BookstoreMetrics metrics;
+
+	public JwtRequestFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService, UserRoleCache userRoleCache,
+			VerifiedTokenCache verifiedTokenCache, @Value("${jwt.auth-mode:claims}") JwtAuthMode authMode,
+			BookstoreMetrics metrics)
+	{
+		this.jwtUtil = jwtUtil;
+		this.userDetailsService = userDetailsService;
+		this.userRoleCache = userRoleCache;
+		this.verifiedTokenCache = verifiedTokenCache;
+		this.authMode = authMode;
+		this.metrics = metrics;
+	}
 	
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException, java.io.IOException
 	{
+		long start=System.nanoTime();
 		String authHeader=request.getHeader("Authorization");
-		String token=null;
-		String username=null;
+		JwtPrincipal token=null;
+		AuthResult result=AuthResult.ANONYMOUS;
 		
-		if(authHeader!=null && authHeader.startsWith("Bearer"))
+		if(authHeader!=null && authHeader.startsWith("Bearer "))
 		{
-			token=authHeader.substring(7);
-			username=jwtUtil.extractUsername(token);
+			token=verify(authHeader.substring(7));
+			result=token==null ? AuthResult.REJECTED : AuthResult.AUTHENTICATED;
 		}
-		if(username!=null && SecurityContextHolder.getContext().getAuthentication()==null)
+		if(token!=null && SecurityContextHolder.getContext().getAuthentication()==null)
 		{
-			UserDetails userDetails=userDetailsService.loadUserByUsername(username);
-			if(jwtUtil.validateToken(token,userDetails))
+			UsernamePasswordAuthenticationToken authToken=authMode==JwtAuthMode.CLAIMS
+					? authenticateFromClaims(token)
+					: authenticateFromDatabase(token);
+			if(authToken!=null)
 			{
-				UsernamePasswordAuthenticationToken authToken=new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
 				authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(authToken);
 			}
+			else
+			{
+				result=AuthResult.REJECTED;
+			}
 		}
+		// Only the authentication step is timed; the whole request is covered by http.server.requests
+		metrics.jwtFilterTime(result, System.nanoTime()-start);
 		filterChain.doFilter(request, response);
 	}
+
+	/**
+	 * Returns the principal of a valid token, or null. A token seen before is served
+	 * from the verified-token cache; otherwise it is parsed and its signature verified
+	 * once, then cached until it expires.
+	 */
+	private JwtPrincipal verify(String token)
+	{
+		JwtPrincipal principal=verifiedTokenCache.get(token);
+		if(principal==null)
+		{
+			try {
+				principal=JwtPrincipal.fromClaims(jwtUtil.extractAllClaims(token));
+			} catch (JwtException | IllegalArgumentException e) {
+				log.debug("Rejected bearer token: {}", e.getMessage());
+				return null;
+			}
+			verifiedTokenCache.put(token,principal);
+		}
+		return principal;
+	}
+
+	/**
+	 * Trusts the verified userId and role claims. The role is compared with the cached
+	 * current role, so demoted or deleted users are rejected once their entry expires.
+	 */
+	private UsernamePasswordAuthenticationToken authenticateFromClaims(JwtPrincipal principal)
+	{
+		if(principal.getUserId()==null || principal.getRole()==null)
+		{
+			return null;
+		}
+		UserRole currentRole=userRoleCache.currentRole(principal.getUserId());
+		if(currentRole!=principal.getRole())
+		{
+			log.debug("Rejected token for user {}: role no longer matches", principal.getUserId());
+			return null;
+		}
+		return new UsernamePasswordAuthenticationToken(principal,null,
+				List.of(new SimpleGrantedAuthority("ROLE_"+currentRole.name())));
+	}
+
+	private UsernamePasswordAuthenticationToken authenticateFromDatabase(JwtPrincipal principal)
+	{
+		UserDetails userDetails=userDetailsService.loadUserByUsername(principal.getUsername());
+		if(!userDetails.getUsername().equals(principal.getUsername()) || principal.getExpiresAt().before(new Date()))
+		{
+			return null;
+		}
+		return new UsernamePasswordAuthenticationToken(userDetails,null,userDetails.getAuthorities());
+	}
 	
 }
@@ -1,9 +1,13 @@
 package com.onlinebookstore.mapper;
 
+import java.util.List;
+
 import org.springframework.stereotype.Component;
 
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.util.CursorUtil;
 
 @Component
 public class BookMapper {
@@ -27,4 +31,22 @@ public class BookMapper {
 
         return bookDTO;
     }
+
+    /**
+     * Builds a keyset page from rows fetched with a limit of {@code pageSize + 1};
+     * the extra row only signals that another page exists and is not returned.
+     */
+    public BookPageDTO toPageDTO(List<BookDTO> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<BookDTO> books = hasMore ? rows.subList(0, pageSize) : rows;
+
+        BookPageDTO pageDTO = new BookPageDTO();
+        pageDTO.setBooks(books);
+        pageDTO.setSize(books.size());
+        pageDTO.setHasMore(hasMore);
+        if (hasMore) {
+            pageDTO.setNextCursor(CursorUtil.encode(books.get(books.size() - 1).getId()));
+        }
+        return pageDTO;
+    }
 }
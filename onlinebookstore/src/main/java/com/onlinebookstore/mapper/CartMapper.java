@@ -3,7 +3,9 @@ package com.onlinebookstore.mapper;
 import org.springframework.stereotype.Component;
 
 import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.entity.ArchivedCartItem;
 import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.CartSummaryLine;
 
 @Component
 public class CartMapper {
@@ -33,4 +35,28 @@ public class CartMapper {
 
         return cartDTO;
     }
+
+    public CartDTO toDTO(CartSummaryLine line, Long userId, Long orderId) {
+        CartDTO cartDTO = new CartDTO();
+        cartDTO.setId(line.getCartItemId());
+        cartDTO.setPrice(line.getPrice());
+        cartDTO.setQuantity(line.getQuantity());
+        cartDTO.setBookId(line.getBookId());
+        cartDTO.setBookTitle(line.getBookTitle());
+        cartDTO.setUserId(userId);
+        cartDTO.setOrderId(orderId);
+        return cartDTO;
+    }
+
+    public CartDTO toDTO(ArchivedCartItem cartItem) {
+        CartDTO cartDTO = new CartDTO();
+        cartDTO.setId(cartItem.getId());
+        cartDTO.setPrice(cartItem.getPrice());
+        cartDTO.setQuantity(cartItem.getQuantity());
+        cartDTO.setBookId(cartItem.getBookId());
+        cartDTO.setBookTitle(cartItem.getBookTitle());
+        cartDTO.setUserId(cartItem.getUserId());
+        cartDTO.setOrderId(cartItem.getOrderId());
+        return cartDTO;
+    }
 }
@@ -6,9 +6,18 @@ import java.util.stream.Collectors;
 import org.springframework.stereotype.Component;
 
 import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.dto.OrderConfirmationDTO;
+import com.onlinebookstore.dto.OrderConfirmationLineDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderHistoryPageDTO;
+import com.onlinebookstore.dto.OrderPageDTO;
+import com.onlinebookstore.dto.OrderSummaryDTO;
+import com.onlinebookstore.entity.ArchivedOrder;
 import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.CartSummary;
 import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.util.CursorUtil;
 
 import lombok.RequiredArgsConstructor;
 
@@ -45,4 +54,94 @@ public class OrderMapper {
 
         return orderDTO;
     }
+
+    /** An archived order, in the same shape as a live one */
+    public OrderDTO toDTO(ArchivedOrder order) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(order.getId());
+        orderDTO.setOrderStatus(order.getOrderStatus());
+        orderDTO.setAmount(order.getPrice());
+        orderDTO.setAddress(order.getAddress());
+        orderDTO.setPaymentType(order.getPaymentType());
+        orderDTO.setDate(order.getDate());
+        orderDTO.setOrderDescription(order.getDescription());
+        if (order.getUser() != null) {
+            orderDTO.setUsername(order.getUser().getName());
+        }
+        orderDTO.setCartDTO(order.getCartItems().stream()
+                .map(cartMapper::toDTO)
+                .collect(Collectors.toList()));
+        return orderDTO;
+    }
+
+    /** The pending cart view, from its summary row alone */
+    public OrderDTO toDTO(CartSummary summary) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(summary.getOrderId());
+        orderDTO.setOrderStatus(OrderStatus.PENDING);
+        orderDTO.setAmount(summary.getTotal());
+        orderDTO.setCartDTO(summary.getLines().stream()
+                .map(line -> cartMapper.toDTO(line, summary.getUserId(), summary.getOrderId()))
+                .collect(Collectors.toList()));
+        return orderDTO;
+    }
+
+    /**
+     * Reads only the order's own columns; {@code lines} come from a projection, so no
+     * association of the order is loaded or serialized.
+     */
+    public OrderConfirmationDTO toConfirmationDTO(Order order, List<OrderConfirmationLineDTO> lines) {
+        OrderConfirmationDTO confirmationDTO = new OrderConfirmationDTO();
+        confirmationDTO.setOrderId(order.getId());
+        confirmationDTO.setOrderStatus(order.getOrderStatus());
+        confirmationDTO.setDate(order.getDate());
+        confirmationDTO.setAmount(order.getPrice());
+        confirmationDTO.setAddress(order.getAddress());
+        confirmationDTO.setPaymentType(order.getPaymentType());
+        confirmationDTO.setOrderDescription(order.getDescription());
+        confirmationDTO.setLines(lines);
+
+        long itemCount = 0;
+        for (OrderConfirmationLineDTO line : lines) {
+            itemCount += line.getQuantity();
+        }
+        confirmationDTO.setItemCount(itemCount);
+        return confirmationDTO;
+    }
+
+    /**
+     * @param rows ids fetched with a limit of {@code pageSize + 1}; the extra id only signals
+     *             that another page exists
+     * @param orders the orders of the first {@code pageSize} ids, newest first
+     */
+    public OrderPageDTO toPageDTO(List<Long> rows, List<Order> orders, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+
+        OrderPageDTO pageDTO = new OrderPageDTO();
+        pageDTO.setOrders(orders.stream().map(this::toDTO).collect(Collectors.toList()));
+        pageDTO.setSize(orders.size());
+        pageDTO.setHasMore(hasMore);
+        if (hasMore) {
+            pageDTO.setNextCursor(CursorUtil.encode(rows.get(pageSize - 1)));
+        }
+        return pageDTO;
+    }
+
+    /**
+     * @param rows summaries fetched with a limit of {@code pageSize + 1}; the extra one only
+     *             signals that another page exists
+     */
+    public OrderHistoryPageDTO toHistoryPageDTO(List<OrderSummaryDTO> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderSummaryDTO> orders = hasMore ? rows.subList(0, pageSize) : rows;
+
+        OrderHistoryPageDTO pageDTO = new OrderHistoryPageDTO();
+        pageDTO.setOrders(orders);
+        pageDTO.setSize(orders.size());
+        pageDTO.setHasMore(hasMore);
+        if (hasMore) {
+            pageDTO.setNextCursor(CursorUtil.encode(orders.get(pageSize - 1).id()));
+        }
+        return pageDTO;
+    }
 }
@@ -0,0 +1,109 @@
+package com.onlinebookstore.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Business counters and the JWT filter timer. Every meter is registered up front, so recording
+ * is a map lookup on an enum and an atomic add, with no registry lookup on the hot path. Tag
+ * values are fixed enumerations, never ids or user input.
+ */
+@Component
+public class BookstoreMetrics {
+
+	/** Timer recorded by {@code @Timed} on every service implementation, tagged by class and method */
+	public static final String SERVICE_TIMER = "bookstore.service";
+
+	public enum CartOperation { ADD, INCREMENT, DECREMENT, REMOVE, BATCH }
+
+	public enum Outcome { SUCCESS, FAILURE }
+
+	public enum WebhookOutcome { RECORDED, DUPLICATE, IGNORED, REJECTED }
+
+	public enum AuthResult { AUTHENTICATED, ANONYMOUS, REJECTED }
+
+	private final Map<CartOperation, Map<Outcome, Counter>> cartUpdates = new EnumMap<>(CartOperation.class);
+	private final Map<Outcome, Counter> paymentIntents;
+	private final Map<Outcome, Counter> paymentConfirmations;
+	private final Map<WebhookOutcome, Counter> webhooks = new EnumMap<>(WebhookOutcome.class);
+	private final Map<AuthResult, Timer> jwtFilter = new EnumMap<>(AuthResult.class);
+	private final Counter ordersPlaced;
+	private final Counter ordersPaid;
+	private final Counter ordersArchived;
+
+	public BookstoreMetrics(MeterRegistry registry) {
+		for (CartOperation operation : CartOperation.values()) {
+			cartUpdates.put(operation, outcomeCounters(registry, "bookstore.cart.updates", "operation", tag(operation)));
+		}
+		paymentIntents = outcomeCounters(registry, "bookstore.payments", "operation", "create");
+		paymentConfirmations = outcomeCounters(registry, "bookstore.payments", "operation", "confirm");
+		for (WebhookOutcome outcome : WebhookOutcome.values()) {
+			webhooks.put(outcome, Counter.builder("bookstore.payment.webhooks").tag("outcome", tag(outcome))
+					.register(registry));
+		}
+		for (AuthResult result : AuthResult.values()) {
+			jwtFilter.put(result, Timer.builder("bookstore.jwt.filter").tag("result", tag(result))
+					.description("Time spent authenticating the bearer token, excluding the rest of the request")
+					.register(registry));
+		}
+		ordersPlaced = Counter.builder("bookstore.orders").tag("event", "placed").register(registry);
+		ordersPaid = Counter.builder("bookstore.orders").tag("event", "paid").register(registry);
+		ordersArchived = Counter.builder("bookstore.orders").tag("event", "archived").register(registry);
+	}
+
+	public void cartUpdated(CartOperation operation, Outcome outcome) {
+		cartUpdates.get(operation).get(outcome).increment();
+	}
+
+	/** An order submitted through place-order, without online payment */
+	public void orderPlaced() {
+		ordersPlaced.increment();
+	}
+
+	/** A pending order submitted after its payment succeeded */
+	public void orderPaid() {
+		ordersPaid.increment();
+	}
+
+	/** Submitted orders moved to the archive tables */
+	public void ordersArchived(int count) {
+		ordersArchived.increment(count);
+	}
+
+	public void paymentIntentCreated(Outcome outcome) {
+		paymentIntents.get(outcome).increment();
+	}
+
+	public void paymentConfirmed(Outcome outcome) {
+		paymentConfirmations.get(outcome).increment();
+	}
+
+	public void webhookReceived(WebhookOutcome outcome) {
+		webhooks.get(outcome).increment();
+	}
+
+	public void jwtFilterTime(AuthResult result, long nanos) {
+		jwtFilter.get(result).record(nanos, TimeUnit.NANOSECONDS);
+	}
+
+	private static Map<Outcome, Counter> outcomeCounters(MeterRegistry registry, String name, String tagKey,
+			String tagValue) {
+		Map<Outcome, Counter> counters = new EnumMap<>(Outcome.class);
+		for (Outcome outcome : Outcome.values()) {
+			counters.put(outcome, Counter.builder(name).tag(tagKey, tagValue).tag("outcome", tag(outcome))
+					.register(registry));
+		}
+		return counters;
+	}
+
+	private static String tag(Enum<?> value) {
+		return value.name().toLowerCase();
+	}
+}
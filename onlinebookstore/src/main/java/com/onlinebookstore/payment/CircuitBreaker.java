@@ -0,0 +1,96 @@
+package com.onlinebookstore.payment;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after a run of consecutive gateway faults and rejects calls until the open
+ * duration has passed, then lets a single trial call through: its success closes the
+ * circuit, its failure opens it again.
+ */
+public class CircuitBreaker {
+
+	public enum State { CLOSED, OPEN, HALF_OPEN }
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private final LongSupplier nanoClock;
+	// Not synchronized: a virtual thread blocked on a monitor pins its carrier on Java 21
+	private final ReentrantLock lock = new ReentrantLock();
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+	private boolean trialInFlight;
+
+	public CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this(failureThreshold, openDuration, System::nanoTime);
+	}
+
+	public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openDuration.toNanos();
+		this.nanoClock = nanoClock;
+	}
+
+	/** Whether a call may go ahead; every permitted call must report its outcome */
+	public boolean tryAcquire() {
+		lock.lock();
+		try {
+			switch (state) {
+			case CLOSED:
+				return true;
+			case OPEN:
+				if (nanoClock.getAsLong() - openedAt < openNanos) {
+					return false;
+				}
+				state = State.HALF_OPEN;
+				trialInFlight = true;
+				return true;
+			default:
+				if (trialInFlight) {
+					return false;
+				}
+				trialInFlight = true;
+				return true;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onSuccess() {
+		lock.lock();
+		try {
+			state = State.CLOSED;
+			consecutiveFailures = 0;
+			trialInFlight = false;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public void onFailure() {
+		lock.lock();
+		try {
+			trialInFlight = false;
+			if (state == State.HALF_OPEN || ++consecutiveFailures >= failureThreshold) {
+				state = State.OPEN;
+				openedAt = nanoClock.getAsLong();
+				consecutiveFailures = 0;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	public State getState() {
+		lock.lock();
+		try {
+			return state;
+		} finally {
+			lock.unlock();
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package com.onlinebookstore.payment;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.onlinebookstore.enums.PaymentEventStatus;
+import com.onlinebookstore.event.PaymentEventReceivedEvent;
+import com.onlinebookstore.repository.PaymentEventRepository;
+import com.onlinebookstore.service.PaymentWebhookService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Applies recorded payment events off the webhook request thread, on a bounded queue.
+ * Events the queue cannot take, or that were left behind by a failure or a restart, stay
+ * {@link PaymentEventStatus#RECEIVED} and are picked up by a periodic sweep. The pool is
+ * published as the {@code paymentEvents} executor metrics.
+ */
+@Component
+@Slf4j
+public class PaymentEventWorker {
+
+	private static final int SWEEP_BATCH_SIZE = 500;
+
+	private final PaymentWebhookService paymentWebhookService;
+	private final PaymentEventRepository paymentEventRepository;
+	private final ThreadPoolExecutor executor;
+	private final Duration sweepInterval;
+
+	public PaymentEventWorker(PaymentWebhookService paymentWebhookService,
+			PaymentEventRepository paymentEventRepository,
+			@Value("${payment.webhook.workers:4}") int workers,
+			@Value("${payment.webhook.queue-capacity:10000}") int queueCapacity,
+			@Value("${payment.webhook.sweep-interval:30s}") Duration sweepInterval,
+			MeterRegistry meterRegistry) {
+		this.paymentWebhookService = paymentWebhookService;
+		this.paymentEventRepository = paymentEventRepository;
+		this.sweepInterval = sweepInterval;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+					Thread thread = new Thread(runnable, "payment-events-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		new ExecutorServiceMetrics(executor, "paymentEvents", Tags.empty()).bindTo(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onPaymentEventReceived(PaymentEventReceivedEvent event) {
+		try {
+			executor.execute(() -> process(event.getEventId()));
+		} catch (RejectedExecutionException e) {
+			log.warn("Payment event queue full, event {} left for the sweep", event.getEventId());
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${payment.webhook.sweep-interval:30s}",
+			initialDelayString = "${payment.webhook.sweep-interval:30s}")
+	public void sweep() {
+		// Only events older than one interval, so the sweep does not race the queue for fresh ones
+		Date receivedBefore = new Date(System.currentTimeMillis() - sweepInterval.toMillis());
+		List<String> eventIds = paymentEventRepository.findIdsByStatusReceivedBefore(PaymentEventStatus.RECEIVED,
+				receivedBefore, Limit.of(SWEEP_BATCH_SIZE));
+		if (!eventIds.isEmpty()) {
+			log.info("Sweeping {} unprocessed payment events", eventIds.size());
+			eventIds.forEach(this::process);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws InterruptedException {
+		executor.shutdown();
+		executor.awaitTermination(10, TimeUnit.SECONDS);
+	}
+
+	private void process(String eventId) {
+		try {
+			paymentWebhookService.process(eventId);
+		} catch (RuntimeException e) {
+			log.error("Failed to process payment event {}: {}", eventId, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.onlinebookstore.payment;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking access to the payment provider. Failures complete the future with a
+ * {@link com.onlinebookstore.exception.PaymentGatewayException} or a
+ * {@link java.util.concurrent.TimeoutException}.
+ */
+public interface PaymentGateway extends AutoCloseable {
+
+	CompletableFuture<PaymentIntentResult> createPaymentIntent(PaymentIntentRequest request);
+
+	CompletableFuture<PaymentIntentResult> retrievePaymentIntent(String paymentIntentId);
+
+	@Override
+	default void close() {
+	}
+}
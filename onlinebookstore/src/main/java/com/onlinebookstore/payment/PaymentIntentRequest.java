@@ -0,0 +1,17 @@
+package com.onlinebookstore.payment;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class PaymentIntentRequest {
+	/** In the smallest currency unit */
+	private long amount;
+	private String currency;
+	private String description;
+	private Long userId;
+	private Long orderId;
+	/** Reused by every retry of the same logical request */
+	private String idempotencyKey;
+}
@@ -0,0 +1,20 @@
+package com.onlinebookstore.payment;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentIntentResult {
+	private String id;
+	private String clientSecret;
+	private String status;
+	/** In the smallest currency unit */
+	private Long amount;
+	private String currency;
+	private Long orderId;
+}
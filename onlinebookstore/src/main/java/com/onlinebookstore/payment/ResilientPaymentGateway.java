@@ -0,0 +1,144 @@
+package com.onlinebookstore.payment;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.onlinebookstore.exception.PaymentGatewayException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards a gateway so a slow or failing provider cannot tie up request threads:
+ * <ul>
+ * <li>a bulkhead caps calls in flight and rejects the excess immediately,</li>
+ * <li>every attempt has its own deadline, and the whole call including retries another,</li>
+ * <li>retryable failures are retried with exponential backoff and jitter,</li>
+ * <li>a circuit breaker fails fast while the provider keeps faulting.</li>
+ * </ul>
+ * A bulkhead permit is held until the underlying call really finishes, not just until its
+ * deadline, so abandoned calls still count against the limit.
+ */
+@Slf4j
+public class ResilientPaymentGateway implements PaymentGateway {
+
+	private final PaymentGateway delegate;
+	private final Semaphore permits;
+	private final CircuitBreaker circuitBreaker;
+	private final Duration callTimeout;
+	private final Duration deadline;
+	private final int maxAttempts;
+	private final Duration retryBackoff;
+
+	public ResilientPaymentGateway(PaymentGateway delegate, int maxConcurrentCalls, Duration callTimeout,
+			Duration deadline, int maxAttempts, Duration retryBackoff, CircuitBreaker circuitBreaker) {
+		this.delegate = delegate;
+		this.permits = new Semaphore(maxConcurrentCalls);
+		this.callTimeout = callTimeout;
+		this.deadline = deadline;
+		this.maxAttempts = maxAttempts;
+		this.retryBackoff = retryBackoff;
+		this.circuitBreaker = circuitBreaker;
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> createPaymentIntent(PaymentIntentRequest request) {
+		return call(() -> delegate.createPaymentIntent(request));
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> retrievePaymentIntent(String paymentIntentId) {
+		return call(() -> delegate.retrievePaymentIntent(paymentIntentId));
+	}
+
+	@Override
+	public void close() {
+		delegate.close();
+	}
+
+	public int getAvailablePermits() {
+		return permits.availablePermits();
+	}
+
+	public CircuitBreaker.State getCircuitState() {
+		return circuitBreaker.getState();
+	}
+
+	private CompletableFuture<PaymentIntentResult> call(Supplier<CompletableFuture<PaymentIntentResult>> operation) {
+		CompletableFuture<PaymentIntentResult> result = new CompletableFuture<>();
+		attempt(operation, 1, result);
+		return result.orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	private void attempt(Supplier<CompletableFuture<PaymentIntentResult>> operation, int attempt,
+			CompletableFuture<PaymentIntentResult> result) {
+		invoke(operation).whenComplete((value, failure) -> {
+			if (failure == null) {
+				result.complete(value);
+				return;
+			}
+			Throwable cause = unwrap(failure);
+			if (attempt >= maxAttempts || !isRetryable(cause) || result.isDone()) {
+				result.completeExceptionally(cause);
+				return;
+			}
+			long delay = backoffMillis(attempt);
+			log.warn("Payment gateway attempt {} failed ({}), retrying in {} ms", attempt, cause.toString(), delay);
+			CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+					.execute(() -> attempt(operation, attempt + 1, result));
+		});
+	}
+
+	private CompletableFuture<PaymentIntentResult> invoke(Supplier<CompletableFuture<PaymentIntentResult>> operation) {
+		if (!permits.tryAcquire()) {
+			return CompletableFuture.failedFuture(new PaymentGatewayException("Payment gateway is at capacity", false));
+		}
+		if (!circuitBreaker.tryAcquire()) {
+			permits.release();
+			return CompletableFuture.failedFuture(new PaymentGatewayException("Payment gateway is unavailable", false));
+		}
+		CompletableFuture<PaymentIntentResult> call;
+		try {
+			call = operation.get();
+		} catch (RuntimeException e) {
+			call = CompletableFuture.failedFuture(e);
+		}
+		return call.whenComplete((value, failure) -> permits.release())
+				.thenApply(Function.identity())
+				.orTimeout(callTimeout.toMillis(), TimeUnit.MILLISECONDS)
+				.whenComplete((value, failure) -> {
+					// Declines and bad requests say nothing about the provider's health
+					if (failure != null && isRetryable(unwrap(failure))) {
+						circuitBreaker.onFailure();
+					} else {
+						circuitBreaker.onSuccess();
+					}
+				});
+	}
+
+	/** Exponential backoff with equal jitter: a random delay in [base * 2^(n-1) / 2, base * 2^(n-1)] */
+	private long backoffMillis(int attempt) {
+		long ceiling = Math.max(1, retryBackoff.toMillis() << Math.min(attempt - 1, 16));
+		return ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+	}
+
+	private static boolean isRetryable(Throwable failure) {
+		return failure instanceof TimeoutException
+				|| failure instanceof PaymentGatewayException && ((PaymentGatewayException) failure).isRetryable();
+	}
+
+	public static Throwable unwrap(Throwable failure) {
+		Throwable cause = failure;
+		while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+			cause = cause.getCause();
+		}
+		return cause;
+	}
+}
@@ -0,0 +1,125 @@
+package com.onlinebookstore.payment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.onlinebookstore.exception.PaymentGatewayException;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCreateParams;
+
+/**
+ * Stripe calls run on a dedicated pool sized to the bulkhead, never on request threads.
+ * Connect and read timeouts bound how long a worker can be held; Stripe's own network
+ * retries are off because {@link ResilientPaymentGateway} retries with the same idempotency key.
+ */
+public class StripePaymentGateway implements PaymentGateway {
+
+	private final String apiKey;
+	private final int connectTimeoutMillis;
+	private final int readTimeoutMillis;
+	private final ExecutorService executor;
+
+	public StripePaymentGateway(String apiKey, Duration connectTimeout, Duration readTimeout, int threads) {
+		this.apiKey = apiKey;
+		this.connectTimeoutMillis = (int) connectTimeout.toMillis();
+		this.readTimeoutMillis = (int) readTimeout.toMillis();
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "stripe-gateway-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> createPaymentIntent(PaymentIntentRequest request) {
+		PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+				.setAmount(request.getAmount())
+				.setCurrency(request.getCurrency())
+				.setDescription(request.getDescription())
+				.putMetadata("userId", String.valueOf(request.getUserId()))
+				.putMetadata("orderId", String.valueOf(request.getOrderId()))
+				.setAutomaticPaymentMethods(
+						PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
+								.setEnabled(true)
+								.build()
+				)
+				.build();
+		RequestOptions options = requestOptions(request.getIdempotencyKey());
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return toResult(PaymentIntent.create(params, options));
+			} catch (StripeException e) {
+				throw translate(e);
+			}
+		}, executor);
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> retrievePaymentIntent(String paymentIntentId) {
+		RequestOptions options = requestOptions(null);
+		return CompletableFuture.supplyAsync(() -> {
+			try {
+				return toResult(PaymentIntent.retrieve(paymentIntentId, options));
+			} catch (StripeException e) {
+				throw translate(e);
+			}
+		}, executor);
+	}
+
+	@Override
+	public void close() {
+		executor.shutdown();
+	}
+
+	private RequestOptions requestOptions(String idempotencyKey) {
+		RequestOptions.RequestOptionsBuilder builder = RequestOptions.builder()
+				.setApiKey(apiKey)
+				.setConnectTimeout(connectTimeoutMillis)
+				.setReadTimeout(readTimeoutMillis)
+				.setMaxNetworkRetries(0);
+		if (idempotencyKey != null) {
+			builder.setIdempotencyKey(idempotencyKey);
+		}
+		return builder.build();
+	}
+
+	private static PaymentIntentResult toResult(PaymentIntent paymentIntent) {
+		return PaymentIntentResult.builder()
+				.id(paymentIntent.getId())
+				.clientSecret(paymentIntent.getClientSecret())
+				.status(paymentIntent.getStatus())
+				.amount(paymentIntent.getAmount())
+				.currency(paymentIntent.getCurrency())
+				.orderId(orderId(paymentIntent.getMetadata()))
+				.build();
+	}
+
+	private static Long orderId(Map<String, String> metadata) {
+		String orderId = metadata == null ? null : metadata.get("orderId");
+		try {
+			return orderId == null ? null : Long.valueOf(orderId);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/** Connection problems, rate limiting and Stripe-side errors are transient; anything else is final */
+	private static PaymentGatewayException translate(StripeException e) {
+		Integer status = e.getStatusCode();
+		boolean retryable = e instanceof ApiConnectionException
+				|| e instanceof RateLimitException
+				|| e instanceof ApiException
+				|| status != null && (status == 429 || status >= 500);
+		return new PaymentGatewayException(e.getMessage(), retryable, e);
+	}
+}
@@ -0,0 +1,59 @@
+package com.onlinebookstore.payment;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.onlinebookstore.exception.PaymentGatewayException;
+
+/**
+ * In-memory stand-in for Stripe so checkout can be load tested offline. Every call completes
+ * after a fixed latency without holding a thread. Intents are created awaiting payment and
+ * read back as succeeded, as if the customer paid straight away; a repeated idempotency key
+ * returns the intent it created first.
+ */
+public class StubPaymentGateway implements PaymentGateway {
+
+	private static final long MAX_INTENTS = 100_000;
+
+	private final Executor delayed;
+	private final Cache<String, PaymentIntentResult> intents = Caffeine.newBuilder().maximumSize(MAX_INTENTS).build();
+	private final Cache<String, String> intentIdsByIdempotencyKey = Caffeine.newBuilder().maximumSize(MAX_INTENTS).build();
+
+	public StubPaymentGateway(Duration latency) {
+		this.delayed = CompletableFuture.delayedExecutor(latency.toMillis(), TimeUnit.MILLISECONDS);
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> createPaymentIntent(PaymentIntentRequest request) {
+		return CompletableFuture.supplyAsync(() -> {
+			String key = request.getIdempotencyKey() != null ? request.getIdempotencyKey() : UUID.randomUUID().toString();
+			String id = intentIdsByIdempotencyKey.get(key, k -> "pi_stub_" + UUID.randomUUID().toString().replace("-", ""));
+			return intents.get(id, k -> PaymentIntentResult.builder()
+					.id(id)
+					.clientSecret(id + "_secret_stub")
+					.status("requires_payment_method")
+					.amount(request.getAmount())
+					.currency(request.getCurrency())
+					.orderId(request.getOrderId())
+					.build());
+		}, delayed);
+	}
+
+	@Override
+	public CompletableFuture<PaymentIntentResult> retrievePaymentIntent(String paymentIntentId) {
+		return CompletableFuture.supplyAsync(() -> {
+			PaymentIntentResult intent = intents.getIfPresent(paymentIntentId);
+			if (intent == null) {
+				throw new PaymentGatewayException("No such payment_intent: " + paymentIntentId, false);
+			}
+			PaymentIntentResult succeeded = intent.toBuilder().status("succeeded").build();
+			intents.put(paymentIntentId, succeeded);
+			return succeeded;
+		}, delayed);
+	}
+}
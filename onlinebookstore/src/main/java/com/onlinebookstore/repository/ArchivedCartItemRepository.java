@@ -0,0 +1,21 @@
+package com.onlinebookstore.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.onlinebookstore.dto.OrderItemDTO;
+import com.onlinebookstore.entity.ArchivedCartItem;
+
+@Repository
+public interface ArchivedCartItemRepository extends JpaRepository<ArchivedCartItem, Long> {
+
+	/** Archived counterpart of {@link CartItemsRepository#findOrderItems} */
+	@Query("select new com.onlinebookstore.dto.OrderItemDTO(c.orderId, c.bookId, c.bookTitle, c.quantity, c.price) "
+			+ "from ArchivedCartItem c where c.orderId in :orderIds and c.userId = :userId order by c.orderId, c.id")
+	List<OrderItemDTO> findOrderItems(@Param("userId") Long userId, @Param("orderIds") Collection<Long> orderIds);
+}
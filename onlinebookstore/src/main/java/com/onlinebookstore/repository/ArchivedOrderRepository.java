@@ -0,0 +1,55 @@
+package com.onlinebookstore.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.onlinebookstore.dto.OrderSummaryDTO;
+import com.onlinebookstore.entity.ArchivedOrder;
+import com.onlinebookstore.enums.OrderStatus;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+	/** Ids of a user's newest archived orders; the orders are then fetched with {@link #findAllByIdInOrderByIdDesc} */
+	@Query("select o.id from ArchivedOrder o where o.userId = :userId and o.orderStatus = :orderStatus "
+			+ "order by o.id desc")
+	List<Long> findNewestIds(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus, Limit limit);
+
+	@Query("select o.id from ArchivedOrder o where o.orderStatus = :orderStatus order by o.id desc")
+	List<Long> findNewestIds(@Param("orderStatus") OrderStatus orderStatus, Limit limit);
+
+	@EntityGraph(attributePaths = {"user", "cartItems"})
+	List<ArchivedOrder> findAllByIdInOrderByIdDesc(Collection<Long> ids);
+
+	/** One page of a user's archived orders, newest first, like {@link OrderRepository#findSummaryPage} */
+	@Query("select new com.onlinebookstore.dto.OrderSummaryDTO(o.id, o.date, o.orderStatus, o.price, o.address, "
+			+ "o.paymentType, o.description) from ArchivedOrder o where o.userId = :userId "
+			+ "and o.orderStatus = :orderStatus and o.id < :beforeId order by o.id desc")
+	List<OrderSummaryDTO> findSummaryPage(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus,
+			@Param("beforeId") Long beforeId, Limit limit);
+
+	/**
+	 * Copies the orders into the archive in one statement. Native SQL, since the copy is an
+	 * insert-select over a table no entity is loaded from.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "insert into orders_archive (id, user_id, description, address, payment_type, date, price, "
+			+ "order_status, archived_at) select o.id, o.user_id, o.description, o.address, o.payment_type, o.date, "
+			+ "o.price, o.order_status, current_timestamp from orders o where o.id in (:orderIds)", nativeQuery = true)
+	int copyOrders(@Param("orderIds") Collection<Long> orderIds);
+
+	/** Copies the cart lines of the orders into the archive, with their book titles */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query(value = "insert into cart_items_archive (id, order_id, user_id, book_id, book_title, quantity, price) "
+			+ "select c.id, c.order_id, c.user_id, c.book_id, b.title, c.quantity, c.price "
+			+ "from cart_items c join books b on b.id = c.book_id where c.order_id in (:orderIds)", nativeQuery = true)
+	int copyCartItems(@Param("orderIds") Collection<Long> orderIds);
+}
@@ -1,15 +1,35 @@
 package com.onlinebookstore.repository;
 
+import com.onlinebookstore.dto.BookDTO;
 import com.onlinebookstore.entity.Book;
 
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+	// Book.category is LAZY; every list path loads it in the same statement to avoid one SELECT per book
+	@EntityGraph(attributePaths = "category")
 	List<Book> findAllByTitleContaining(String title);
 
+	// Projections read only the columns BookDTO needs and never build managed entities
+	@Query("select new com.onlinebookstore.dto.BookDTO(b.id, b.title, b.author, b.price, b.imageUrl, c.id, c.name) "
+			+ "from Book b join b.category c order by b.id")
+	List<BookDTO> findAllBookDTOs();
+
+	// Keyset page: seeks on the primary key so every page costs the same regardless of depth
+	@Query("select new com.onlinebookstore.dto.BookDTO(b.id, b.title, b.author, b.price, b.imageUrl, c.id, c.name) "
+			+ "from Book b join b.category c where b.id > :afterId order by b.id")
+	List<BookDTO> findBookDTOPage(@Param("afterId") Long afterId, Limit limit);
+
+	@Query("select b.id from Book b where b.category.id = :categoryId")
+	List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
 }
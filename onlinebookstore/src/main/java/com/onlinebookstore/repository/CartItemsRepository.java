@@ -1,13 +1,50 @@
 package com.onlinebookstore.repository;
 
+import com.onlinebookstore.dto.OrderConfirmationLineDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
 import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.CartSummaryLine;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 @Repository
 public interface CartItemsRepository extends JpaRepository<CartItems, Long> {
 	
 	Optional<CartItems> findByUserIdAndBookIdAndOrderId(Long userId, Long bookId, Long orderId);
-	
+
+	/**
+	 * Adds {@code delta} copies of a book to its cart line in one statement, priced at the
+	 * book's current price. A line never drops below one copy; returns the rows changed.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update CartItems c set c.quantity = c.quantity + :delta, "
+			+ "c.price = c.price + :delta * (select b.price from Book b where b.id = :bookId) "
+			+ "where c.order.id = :orderId and c.user.id = :userId and c.book.id = :bookId "
+			+ "and c.quantity + :delta >= 1")
+	int adjustQuantity(@Param("orderId") Long orderId, @Param("userId") Long userId,
+			@Param("bookId") Long bookId, @Param("delta") long delta);
+
+	@Query("select new com.onlinebookstore.dto.OrderConfirmationLineDTO(b.id, b.title, c.quantity, c.price) "
+			+ "from CartItems c join c.book b where c.order.id = :orderId order by c.id")
+	List<OrderConfirmationLineDTO> findConfirmationLines(@Param("orderId") Long orderId);
+
+	@Query("select new com.onlinebookstore.entity.CartSummaryLine(c.id, b.id, b.title, b.price, c.quantity, c.price) "
+			+ "from CartItems c join c.book b where c.order.id = :orderId order by c.id")
+	List<CartSummaryLine> findSummaryLines(@Param("orderId") Long orderId);
+
+	/** The lines of a user's orders, grouped by order; lines of another user's order are never returned */
+	@Query("select new com.onlinebookstore.dto.OrderItemDTO(c.order.id, b.id, b.title, c.quantity, c.price) "
+			+ "from CartItems c join c.book b where c.order.id in :orderIds and c.user.id = :userId "
+			+ "order by c.order.id, c.id")
+	List<OrderItemDTO> findOrderItems(@Param("userId") Long userId, @Param("orderIds") Collection<Long> orderIds);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from CartItems c where c.order.id in :orderIds")
+	int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
 }
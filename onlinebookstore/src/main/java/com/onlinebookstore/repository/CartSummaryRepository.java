@@ -0,0 +1,33 @@
+package com.onlinebookstore.repository;
+
+import java.util.Collection;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.onlinebookstore.entity.CartSummary;
+
+@Repository
+public interface CartSummaryRepository extends JpaRepository<CartSummary, Long> {
+
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from CartSummary s where s.orderId = :orderId")
+	int deleteByOrderId(@Param("orderId") Long orderId);
+
+	/** Summaries of every cart holding the book, while its cart lines still exist */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from CartSummary s where s.orderId in "
+			+ "(select c.order.id from CartItems c where c.book.id = :bookId)")
+	int deleteByBookId(@Param("bookId") Long bookId);
+
+	/** Summaries of every cart holding one of the books, while their cart lines still exist */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from CartSummary s where s.orderId in "
+			+ "(select c.order.id from CartItems c where c.book.id in :bookIds)")
+	int deleteByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+}
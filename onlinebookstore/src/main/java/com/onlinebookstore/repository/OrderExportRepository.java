@@ -0,0 +1,21 @@
+package com.onlinebookstore.repository;
+
+import java.util.stream.Stream;
+
+import com.onlinebookstore.dto.OrderExportRow;
+import com.onlinebookstore.enums.OrderStatus;
+
+/**
+ * Fragment of {@link OrderRepository} for the order export, whose fetch mode depends on the
+ * database and so cannot be a static query hint.
+ */
+public interface OrderExportRepository {
+
+	/**
+	 * Every cart line of every order with the given status, ordered by order, as flat
+	 * projections: nothing enters the persistence context and the driver streams the rows,
+	 * so memory stays flat whatever the row count. Must be consumed inside a transaction and
+	 * closed, and nothing else may run on the transaction's connection until it is.
+	 */
+	Stream<OrderExportRow> streamExportRows(OrderStatus orderStatus);
+}
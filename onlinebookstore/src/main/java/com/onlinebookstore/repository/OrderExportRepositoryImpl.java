@@ -0,0 +1,43 @@
+package com.onlinebookstore.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+
+import com.onlinebookstore.dto.OrderExportRow;
+import com.onlinebookstore.enums.OrderStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+	static final int EXPORT_FETCH_SIZE = 500;
+
+	/**
+	 * Connector/J buffers whole result sets unless the fetch size is {@code Integer.MIN_VALUE},
+	 * which streams this one statement's rows without changing how other queries fetch
+	 */
+	private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Stream<OrderExportRow> streamExportRows(OrderStatus orderStatus) {
+		return entityManager.createQuery("select new com.onlinebookstore.dto.OrderExportRow(o.id, o.date, "
+				+ "o.orderStatus, o.price, o.address, o.paymentType, o.description, u.id, u.name, c.id, b.id, "
+				+ "b.title, c.quantity, c.price) from Order o join o.user u left join o.cartItems c "
+				+ "left join c.book b where o.orderStatus = :orderStatus order by o.id, c.id", OrderExportRow.class)
+				.setParameter("orderStatus", orderStatus)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+				.getResultStream();
+	}
+
+	private int fetchSize() {
+		return entityManager.unwrap(Session.class).doReturningWork(connection ->
+				"MySQL".equals(connection.getMetaData().getDatabaseProductName())
+						? MYSQL_STREAMING_FETCH_SIZE : EXPORT_FETCH_SIZE);
+	}
+}
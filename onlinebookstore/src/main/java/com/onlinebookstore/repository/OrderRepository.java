@@ -1,15 +1,96 @@
 package com.onlinebookstore.repository;
 
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.onlinebookstore.dto.OrderSummaryDTO;
 import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.enums.OrderStatus;
+
+import jakarta.persistence.LockModeType;
 @Repository
-public interface OrderRepository extends JpaRepository<Order,Long> {
+public interface OrderRepository extends JpaRepository<Order,Long>, OrderExportRepository {
 	Order findByUserIdAndOrderStatus(Long userId, OrderStatus pending);
 	List<Order> findAllByUserIdAndOrderStatus(Long userId, OrderStatus submitted);
+	@EntityGraph(attributePaths = {"user", "cartItems", "cartItems.book"})
 	List<Order> findAllByOrderStatus(OrderStatus orderStatus);
+
+	/**
+	 * One page of order ids, newest first, seeking below {@code beforeId}. Paging on ids keeps
+	 * the limit in SQL; the orders themselves are then fetched with {@link #findAllWithCartItemsByIdIn}.
+	 */
+	@Query("select o.id from Order o where o.orderStatus = :orderStatus and o.date >= :from and o.date < :to "
+			+ "and o.id < :beforeId order by o.id desc")
+	List<Long> findIdPage(@Param("orderStatus") OrderStatus orderStatus, @Param("from") Date from,
+			@Param("to") Date to, @Param("beforeId") Long beforeId, Limit limit);
+
+	/**
+	 * One page of a user's orders, newest first, seeking below {@code beforeId}: the order
+	 * columns only, served by the (user_id, order_status) index in id order.
+	 */
+	@Query("select new com.onlinebookstore.dto.OrderSummaryDTO(o.id, o.date, o.orderStatus, o.price, o.address, "
+			+ "o.paymentType, o.description) from Order o where o.user.id = :userId and o.orderStatus = :orderStatus "
+			+ "and o.id < :beforeId order by o.id desc")
+	List<OrderSummaryDTO> findSummaryPage(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus,
+			@Param("beforeId") Long beforeId, Limit limit);
+
+	/** Ids of orders in the status dated before {@code before}, oldest id first, for the archive job */
+	@Query("select o.id from Order o where o.orderStatus = :orderStatus and o.date < :before order by o.id")
+	List<Long> findIdsDatedBefore(@Param("orderStatus") OrderStatus orderStatus, @Param("before") Date before,
+			Limit limit);
+
+	/** Removes orders whose cart lines have already been deleted */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Order o where o.id in :ids")
+	int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("select o from Order o join fetch o.user left join fetch o.cartItems c left join fetch c.book "
+			+ "where o.id in :ids order by o.id desc")
+	List<Order> findAllWithCartItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@EntityGraph(attributePaths = {"user", "cartItems", "cartItems.book"})
+	Optional<Order> findWithCartItemsById(Long id);
+
+	/**
+	 * Loads the order and holds its row lock until commit. Every cart writer takes this lock
+	 * first, so writers that touch several cart lines never deadlock with each other.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select o from Order o where o.user.id = :userId and o.orderStatus = :orderStatus")
+	Order findForUpdateByUserIdAndOrderStatus(@Param("userId") Long userId, @Param("orderStatus") OrderStatus orderStatus);
+
+	/** Adds {@code amount} to the order total in place, so concurrent cart changes never overwrite each other */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Order o set o.price = o.price + :amount where o.id = :orderId")
+	int addToPrice(@Param("orderId") Long orderId, @Param("amount") long amount);
+
+	/** Adds {@code delta} copies of a book, at its current price, to the order total in place */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Order o set o.price = o.price + :delta * (select b.price from Book b where b.id = :bookId) "
+			+ "where o.id = :orderId")
+	int addBookToPrice(@Param("orderId") Long orderId, @Param("bookId") Long bookId, @Param("delta") long delta);
+
+	/**
+	 * Submits a pending order after payment. A no-op for an order that is already submitted,
+	 * so the webhook and client confirmations can both apply the same payment safely.
+	 */
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Order o set o.orderStatus = com.onlinebookstore.enums.OrderStatus.SUBMITTED, "
+			+ "o.paymentType = :paymentType, o.date = :date where o.id = :orderId "
+			+ "and o.orderStatus = com.onlinebookstore.enums.OrderStatus.PENDING")
+	int submitPendingOrder(@Param("orderId") Long orderId, @Param("paymentType") String paymentType,
+			@Param("date") Date date);
 }
@@ -0,0 +1,33 @@
+package com.onlinebookstore.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.onlinebookstore.entity.PaymentEvent;
+import com.onlinebookstore.enums.PaymentEventStatus;
+
+@Repository
+public interface PaymentEventRepository extends JpaRepository<PaymentEvent, String> {
+
+	/**
+	 * Moves a received event to processed. Only one caller gets a row count of 1, so an
+	 * event picked up by both the worker queue and the sweep is applied once.
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update PaymentEvent e set e.status = com.onlinebookstore.enums.PaymentEventStatus.PROCESSED, "
+			+ "e.processedAt = :processedAt where e.id = :id "
+			+ "and e.status = com.onlinebookstore.enums.PaymentEventStatus.RECEIVED")
+	int claim(@Param("id") String id, @Param("processedAt") Date processedAt);
+
+	@Query("select e.id from PaymentEvent e where e.status = :status and e.receivedAt < :receivedBefore "
+			+ "order by e.receivedAt")
+	List<String> findIdsByStatusReceivedBefore(@Param("status") PaymentEventStatus status,
+			@Param("receivedBefore") Date receivedBefore, Limit limit);
+}
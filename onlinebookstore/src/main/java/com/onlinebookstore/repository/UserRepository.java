@@ -4,6 +4,8 @@ import com.onlinebookstore.entity.User;
 import com.onlinebookstore.enums.UserRole;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -12,5 +14,8 @@ public interface UserRepository extends JpaRepository<User, Long> {
     User findFirstByEmail(String email);
     User findByUserRole(UserRole admin);
 
+    @Query("select u.userRole from User u where u.id = :id")
+    UserRole findUserRoleById(@Param("id") Long id);
+
     //User findFirstByUserRole(UserRole userRole);
 }
\ No newline at end of file
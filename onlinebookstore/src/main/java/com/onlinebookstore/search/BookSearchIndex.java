@@ -0,0 +1,459 @@
+package com.onlinebookstore.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
+import com.onlinebookstore.event.CatalogBulkLoadedEvent;
+import com.onlinebookstore.repository.BookRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory inverted index over book titles and authors.
+ * <p>
+ * Terms are lower-cased, accent-folded alphanumeric tokens kept in a sorted map so
+ * that prefix queries are a range scan. Each term points to a posting list of book
+ * ids held in primitive arrays sorted by id. A query matches books that contain every
+ * query term, either exactly or, for terms of at least {@value #MIN_PREFIX_LENGTH}
+ * characters, as a prefix; results are ranked by field weight (title above author,
+ * exact above prefix). Matching merges and intersects the sorted arrays directly, so a
+ * query allocates no per-book objects.
+ * <p>
+ * The index is built from {@link BookRepository} when the application is ready and
+ * is then kept current by {@link BookChangedEvent} / {@link BookDeletedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSearchIndex {
+
+	private static final int BUILD_BATCH_SIZE = 5000;
+	/** Shorter query terms match whole terms only; a one- or two-letter prefix matches most of the catalog */
+	static final int MIN_PREFIX_LENGTH = 3;
+	private static final byte TITLE_WEIGHT = 3;
+	private static final byte AUTHOR_WEIGHT = 2;
+	private static final float PREFIX_FACTOR = 0.5f;
+	private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+	private final BookRepository bookRepository;
+
+	@Value("${search.max-results:100}")
+	private int maxResults;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+	private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+	private final List<Consumer<BookSearchIndex>> changesDuringRebuild = new ArrayList<>();
+
+	private Map<Long, BookDTO> documents = new HashMap<>();
+	private NavigableMap<String, PostingList> postings = new TreeMap<>();
+	private volatile boolean ready;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuild();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookChanged(BookChangedEvent event) {
+		upsert(event.getBook());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookDeleted(BookDeletedEvent event) {
+		remove(event.getBookId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogBulkLoaded(CatalogBulkLoadedEvent event) {
+		rebuild();
+	}
+
+	/**
+	 * Rebuilds the index from the database without blocking searches. Changes that
+	 * arrive while the rebuild is reading are applied to the live index and replayed
+	 * onto the new one before it is swapped in.
+	 */
+	public void rebuild() {
+		rebuildRequested.set(true);
+		// A request arriving while another thread rebuilds is served by that thread's next pass,
+		// which reads rows committed after its current pass started reading
+		while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+			try {
+				rebuildRequested.set(false);
+				buildAndSwap();
+			} finally {
+				rebuilding.set(false);
+			}
+		}
+	}
+
+	private void buildAndSwap() {
+		try {
+			long start = System.currentTimeMillis();
+			Map<Long, BookDTO> newDocuments = new HashMap<>();
+			NavigableMap<String, PostingList> newPostings = new TreeMap<>();
+			long afterId = 0L;
+			List<BookDTO> batch;
+			do {
+				batch = bookRepository.findBookDTOPage(afterId, Limit.of(BUILD_BATCH_SIZE));
+				for (BookDTO book : batch) {
+					addDocument(newDocuments, newPostings, book);
+				}
+				if (!batch.isEmpty()) {
+					afterId = batch.get(batch.size() - 1).getId();
+				}
+			} while (batch.size() == BUILD_BATCH_SIZE);
+
+			lock.writeLock().lock();
+			try {
+				documents = newDocuments;
+				postings = newPostings;
+				changesDuringRebuild.forEach(change -> change.accept(this));
+				changesDuringRebuild.clear();
+				ready = true;
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.info("Search index built with {} books and {} terms in {} ms", newDocuments.size(),
+					newPostings.size(), System.currentTimeMillis() - start);
+		} catch (RuntimeException e) {
+			log.error("Search index rebuild failed; searches fall back to the database", e);
+		} finally {
+			lock.writeLock().lock();
+			try {
+				changesDuringRebuild.clear();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	public void upsert(BookDTO book) {
+		if (book == null || book.getId() == null) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			removeDocument(documents, postings, book.getId());
+			addDocument(documents, postings, book);
+			if (rebuilding.get()) {
+				changesDuringRebuild.add(index -> {
+					removeDocument(index.documents, index.postings, book.getId());
+					addDocument(index.documents, index.postings, book);
+				});
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long bookId) {
+		if (bookId == null) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			removeDocument(documents, postings, bookId);
+			if (rebuilding.get()) {
+				changesDuringRebuild.add(index -> removeDocument(index.documents, index.postings, bookId));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public boolean isReady() {
+		return ready;
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public List<BookDTO> search(String query) {
+		return search(query, maxResults);
+	}
+
+	public List<BookDTO> search(String query, int limit) {
+		Set<String> terms = new LinkedHashSet<>(terms(query));
+		if (terms.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		lock.readLock().lock();
+		try {
+			List<ScoredIds> matches = new ArrayList<>(terms.size());
+			for (String term : terms) {
+				ScoredIds termMatches = matchTerm(term);
+				if (termMatches.size == 0) {
+					return Collections.emptyList();
+				}
+				matches.add(termMatches);
+			}
+			// Smallest first, so every intersection step is bounded by the rarest term
+			matches.sort(Comparator.comparingInt(scoredIds -> scoredIds.size));
+			ScoredIds result = matches.get(0);
+			for (int i = 1; i < matches.size() && result.size > 0; i++) {
+				result = result.intersect(matches.get(i));
+			}
+			return topResults(result, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Splits text into lower-cased, accent-folded tokens.
+	 */
+	static List<String> terms(String text) {
+		if (text == null || text.isBlank()) {
+			return Collections.emptyList();
+		}
+		String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+		List<String> terms = new ArrayList<>();
+		for (String token : NON_WORD.split(folded.toLowerCase(Locale.ROOT))) {
+			if (!token.isEmpty()) {
+				terms.add(token);
+			}
+		}
+		return terms;
+	}
+
+	private static Map<String, Byte> documentTerms(BookDTO book) {
+		Map<String, Byte> weights = new HashMap<>();
+		for (String term : terms(book.getTitle())) {
+			weights.put(term, TITLE_WEIGHT);
+		}
+		for (String term : terms(book.getAuthor())) {
+			weights.merge(term, AUTHOR_WEIGHT, (a, b) -> (byte) (a + b));
+		}
+		return weights;
+	}
+
+	private static void addDocument(Map<Long, BookDTO> documents, NavigableMap<String, PostingList> postings, BookDTO book) {
+		documents.put(book.getId(), book);
+		documentTerms(book).forEach((term, weight) ->
+				postings.computeIfAbsent(term, t -> new PostingList()).add(book.getId(), weight));
+	}
+
+	private static void removeDocument(Map<Long, BookDTO> documents, NavigableMap<String, PostingList> postings, Long bookId) {
+		BookDTO existing = documents.remove(bookId);
+		if (existing == null) {
+			return;
+		}
+		for (String term : documentTerms(existing).keySet()) {
+			PostingList list = postings.get(term);
+			if (list != null && list.remove(bookId) && list.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+	}
+
+	/** Books containing the term, or for long enough terms a term it prefixes, with their best score */
+	private ScoredIds matchTerm(String term) {
+		List<ScoredIds> lists = new ArrayList<>();
+		PostingList exact = postings.get(term);
+		if (exact != null) {
+			lists.add(exact.scored(1.0f));
+		}
+		if (term.length() >= MIN_PREFIX_LENGTH) {
+			for (PostingList list : postings.subMap(term, false, term + Character.MAX_VALUE, false).values()) {
+				lists.add(list.scored(PREFIX_FACTOR));
+			}
+		}
+		if (lists.isEmpty()) {
+			return ScoredIds.EMPTY;
+		}
+		// Pairwise rounds keep the merge at O(n log k) for k expanded terms
+		while (lists.size() > 1) {
+			List<ScoredIds> merged = new ArrayList<>((lists.size() + 1) / 2);
+			for (int i = 0; i < lists.size(); i += 2) {
+				merged.add(i + 1 < lists.size() ? lists.get(i).union(lists.get(i + 1)) : lists.get(i));
+			}
+			lists = merged;
+		}
+		return lists.get(0);
+	}
+
+	private List<BookDTO> topResults(ScoredIds matches, int limit) {
+		// min-heap on rank: the head is always the weakest of the current top results
+		PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> compareRank(matches, a, b));
+		for (int i = 0; i < matches.size; i++) {
+			if (heap.size() < limit) {
+				heap.offer(i);
+			} else if (compareRank(matches, i, heap.peek()) > 0) {
+				heap.poll();
+				heap.offer(i);
+			}
+		}
+		List<BookDTO> results = new ArrayList<>(heap.size());
+		while (!heap.isEmpty()) {
+			results.add(documents.get(matches.ids[heap.poll()]));
+		}
+		Collections.reverse(results);
+		return results;
+	}
+
+	/**
+	 * Positive when match {@code a} ranks above match {@code b}: higher score first, then
+	 * the shorter (more specific) title, then the older book.
+	 */
+	private int compareRank(ScoredIds matches, int a, int b) {
+		int byScore = Float.compare(matches.scores[a], matches.scores[b]);
+		if (byScore != 0) {
+			return byScore;
+		}
+		int byLength = Integer.compare(titleLength(matches.ids[b]), titleLength(matches.ids[a]));
+		if (byLength != 0) {
+			return byLength;
+		}
+		return Long.compare(matches.ids[b], matches.ids[a]);
+	}
+
+	private int titleLength(long bookId) {
+		BookDTO book = documents.get(bookId);
+		return book == null || book.getTitle() == null ? 0 : book.getTitle().length();
+	}
+
+	/**
+	 * Sorted, primitive-array posting list; roughly nine bytes per posting.
+	 */
+	private static final class PostingList {
+		private long[] ids = new long[2];
+		private byte[] weights = new byte[2];
+		private int size;
+
+		void add(long id, byte weight) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos >= 0) {
+				weights[pos] = weight;
+				return;
+			}
+			int insertAt = -pos - 1;
+			if (size == ids.length) {
+				int capacity = size + (size >> 1) + 1;
+				ids = Arrays.copyOf(ids, capacity);
+				weights = Arrays.copyOf(weights, capacity);
+			}
+			System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+			System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+			ids[insertAt] = id;
+			weights[insertAt] = weight;
+			size++;
+		}
+
+		boolean remove(long id) {
+			int pos = Arrays.binarySearch(ids, 0, size, id);
+			if (pos < 0) {
+				return false;
+			}
+			System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+			System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+			size--;
+			return true;
+		}
+
+		boolean isEmpty() {
+			return size == 0;
+		}
+
+		ScoredIds scored(float factor) {
+			float[] scores = new float[size];
+			for (int i = 0; i < size; i++) {
+				scores[i] = weights[i] * factor;
+			}
+			return new ScoredIds(Arrays.copyOf(ids, size), scores, size);
+		}
+	}
+
+	/**
+	 * Book ids sorted ascending with a score each; the result of matching one or more terms.
+	 */
+	private static final class ScoredIds {
+		static final ScoredIds EMPTY = new ScoredIds(new long[0], new float[0], 0);
+
+		final long[] ids;
+		final float[] scores;
+		final int size;
+
+		ScoredIds(long[] ids, float[] scores, int size) {
+			this.ids = ids;
+			this.scores = scores;
+			this.size = size;
+		}
+
+		/** Ids in either, keeping the better score of an id in both */
+		ScoredIds union(ScoredIds other) {
+			long[] mergedIds = new long[size + other.size];
+			float[] mergedScores = new float[size + other.size];
+			int i = 0;
+			int j = 0;
+			int n = 0;
+			while (i < size || j < other.size) {
+				if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+					mergedIds[n] = ids[i];
+					mergedScores[n++] = scores[i++];
+				} else if (i == size || other.ids[j] < ids[i]) {
+					mergedIds[n] = other.ids[j];
+					mergedScores[n++] = other.scores[j++];
+				} else {
+					mergedIds[n] = ids[i];
+					mergedScores[n++] = Math.max(scores[i++], other.scores[j++]);
+				}
+			}
+			return new ScoredIds(mergedIds, mergedScores, n);
+		}
+
+		/** Ids in both, with the scores summed; called on the smaller of the two */
+		ScoredIds intersect(ScoredIds other) {
+			long[] commonIds = new long[size];
+			float[] commonScores = new float[size];
+			int n = 0;
+			int from = 0;
+			for (int i = 0; i < size && from < other.size; i++) {
+				int pos = Arrays.binarySearch(other.ids, from, other.size, ids[i]);
+				if (pos >= 0) {
+					commonIds[n] = ids[i];
+					commonScores[n++] = scores[i] + other.scores[pos];
+					from = pos + 1;
+				} else {
+					from = -pos - 1;
+				}
+			}
+			return new ScoredIds(commonIds, commonScores, n);
+		}
+	}
+}
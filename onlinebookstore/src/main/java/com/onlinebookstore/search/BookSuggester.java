@@ -0,0 +1,192 @@
+package com.onlinebookstore.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.SuggestionDTO;
+import com.onlinebookstore.enums.SuggestionType;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
+import com.onlinebookstore.event.CatalogBulkLoadedEvent;
+import com.onlinebookstore.repository.BookRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Title and author completions for the search box, served from a {@link SuggestionTrie}
+ * without touching the database. Built when the application is ready and kept in step
+ * with catalog writes through {@link BookChangedEvent} / {@link BookDeletedEvent}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookSuggester {
+
+	public static final int MAX_SUGGESTIONS = 10;
+
+	private static final int BUILD_BATCH_SIZE = 5000;
+
+	private final BookRepository bookRepository;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+	private final AtomicBoolean rebuildRequested = new AtomicBoolean();
+	private final List<Runnable> changesDuringRebuild = new ArrayList<>();
+
+	private SuggestionTrie trie = new SuggestionTrie(MAX_SUGGESTIONS);
+	// title and author currently counted for each book, needed to undo them on update or delete
+	private Map<Long, String[]> indexedBooks = new HashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void onApplicationReady() {
+		rebuild();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookChanged(BookChangedEvent event) {
+		upsert(event.getBook());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onBookDeleted(BookDeletedEvent event) {
+		remove(event.getBookId());
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCatalogBulkLoaded(CatalogBulkLoadedEvent event) {
+		rebuild();
+	}
+
+	public void rebuild() {
+		rebuildRequested.set(true);
+		// A request arriving while another thread rebuilds is served by that thread's next pass,
+		// which reads rows committed after its current pass started reading
+		while (rebuildRequested.get() && rebuilding.compareAndSet(false, true)) {
+			try {
+				rebuildRequested.set(false);
+				buildAndSwap();
+			} finally {
+				rebuilding.set(false);
+			}
+		}
+	}
+
+	private void buildAndSwap() {
+		try {
+			long start = System.currentTimeMillis();
+			SuggestionTrie newTrie = new SuggestionTrie(MAX_SUGGESTIONS);
+			Map<Long, String[]> newIndexedBooks = new HashMap<>();
+			long afterId = 0L;
+			List<BookDTO> batch;
+			do {
+				batch = bookRepository.findBookDTOPage(afterId, Limit.of(BUILD_BATCH_SIZE));
+				for (BookDTO book : batch) {
+					newIndexedBooks.put(book.getId(), new String[] { book.getTitle(), book.getAuthor() });
+					newTrie.add(SuggestionType.TITLE, book.getTitle(), false);
+					newTrie.add(SuggestionType.AUTHOR, book.getAuthor(), false);
+				}
+				if (!batch.isEmpty()) {
+					afterId = batch.get(batch.size() - 1).getId();
+				}
+			} while (batch.size() == BUILD_BATCH_SIZE);
+			newTrie.recomputeAll();
+
+			lock.writeLock().lock();
+			try {
+				trie = newTrie;
+				indexedBooks = newIndexedBooks;
+				changesDuringRebuild.forEach(Runnable::run);
+				changesDuringRebuild.clear();
+			} finally {
+				lock.writeLock().unlock();
+			}
+			log.info("Suggestion trie built with {} completions in {} ms", newTrie.size(),
+					System.currentTimeMillis() - start);
+		} catch (RuntimeException e) {
+			log.error("Suggestion trie rebuild failed", e);
+		} finally {
+			lock.writeLock().lock();
+			try {
+				changesDuringRebuild.clear();
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+	}
+
+	public void upsert(BookDTO book) {
+		if (book == null || book.getId() == null) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			applyUpsert(book);
+			if (rebuilding.get()) {
+				changesDuringRebuild.add(() -> applyUpsert(book));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long bookId) {
+		if (bookId == null) {
+			return;
+		}
+		lock.writeLock().lock();
+		try {
+			applyRemove(bookId);
+			if (rebuilding.get()) {
+				changesDuringRebuild.add(() -> applyRemove(bookId));
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public List<SuggestionDTO> suggest(String prefix, int limit) {
+		int bounded = Math.min(limit, MAX_SUGGESTIONS);
+		lock.readLock().lock();
+		try {
+			List<SuggestionDTO> suggestions = new ArrayList<>(bounded);
+			for (SuggestionTrie.Entry entry : trie.lookup(prefix, bounded)) {
+				suggestions.add(new SuggestionDTO(entry.text, entry.type));
+			}
+			return suggestions;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void applyUpsert(BookDTO book) {
+		String[] previous = indexedBooks.get(book.getId());
+		if (previous != null && Objects.equals(previous[0], book.getTitle()) && Objects.equals(previous[1], book.getAuthor())) {
+			return;
+		}
+		applyRemove(book.getId());
+		indexedBooks.put(book.getId(), new String[] { book.getTitle(), book.getAuthor() });
+		trie.add(SuggestionType.TITLE, book.getTitle(), true);
+		trie.add(SuggestionType.AUTHOR, book.getAuthor(), true);
+	}
+
+	private void applyRemove(Long bookId) {
+		String[] previous = indexedBooks.remove(bookId);
+		if (previous != null) {
+			trie.remove(SuggestionType.TITLE, previous[0]);
+			trie.remove(SuggestionType.AUTHOR, previous[1]);
+		}
+	}
+}
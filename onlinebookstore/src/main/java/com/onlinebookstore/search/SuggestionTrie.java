@@ -0,0 +1,312 @@
+package com.onlinebookstore.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.onlinebookstore.enums.SuggestionType;
+
+/**
+ * Character trie for typeahead completions.
+ * <p>
+ * Every node caches the best {@code topK} completions of its subtree, so a lookup is a
+ * walk down the prefix plus a copy of that array. A completion is reachable from the
+ * start of its text and from the start of every later word in it. Keys are cut at
+ * {@link #MAX_DEPTH} characters to bound the node count; longer prefixes are resolved by
+ * filtering the completions that end at the deepest node.
+ * <p>
+ * Children are kept in sorted parallel arrays rather than maps to keep nodes small.
+ * Not thread-safe: {@link BookSuggester} guards access with a read/write lock.
+ */
+class SuggestionTrie {
+
+	static final int MAX_DEPTH = 16;
+
+	private static final char[] NO_LABELS = new char[0];
+	private static final Node[] NO_CHILDREN = new Node[0];
+	private static final Entry[] NO_ENTRIES = new Entry[0];
+
+	// more books sharing the text first, then the shorter text, then alphabetical
+	private static final Comparator<Entry> RANK = Comparator.comparingInt((Entry e) -> -e.weight)
+			.thenComparingInt(e -> e.text.length())
+			.thenComparing(e -> e.text);
+
+	private final int topK;
+	private final Node root = new Node();
+	private final Map<String, Entry> entries = new HashMap<>();
+
+	SuggestionTrie(int topK) {
+		this.topK = topK;
+	}
+
+	/**
+	 * Counts one more book carrying {@code text}. With {@code maintain} false the cached
+	 * top-K arrays are left stale, for bulk loads that finish with {@link #recomputeAll()}.
+	 */
+	void add(SuggestionType type, String text, boolean maintain) {
+		String normalized = normalize(text);
+		if (normalized.isEmpty()) {
+			return;
+		}
+		String id = type.name() + ':' + normalized;
+		Entry entry = entries.get(id);
+		boolean created = entry == null;
+		if (created) {
+			entry = new Entry(type, text.trim(), normalized);
+			entries.put(id, entry);
+		}
+		entry.weight++;
+		for (String key : keys(normalized)) {
+			List<Node> path = walk(key, true);
+			if (created) {
+				Node end = path.get(path.size() - 1);
+				end.terminals = append(end.terminals, entry);
+			}
+			if (maintain) {
+				refresh(path);
+			}
+		}
+	}
+
+	/**
+	 * Counts one book fewer carrying {@code text}; the completion disappears at zero.
+	 */
+	void remove(SuggestionType type, String text) {
+		String normalized = normalize(text);
+		Entry entry = entries.get(type.name() + ':' + normalized);
+		if (entry == null) {
+			return;
+		}
+		entry.weight--;
+		boolean gone = entry.weight <= 0;
+		if (gone) {
+			entries.remove(type.name() + ':' + normalized);
+		}
+		for (String key : keys(normalized)) {
+			List<Node> path = walk(key, false);
+			if (path == null) {
+				continue;
+			}
+			if (gone) {
+				Node end = path.get(path.size() - 1);
+				end.terminals = without(end.terminals, entry);
+				path = prune(path, key);
+			}
+			refresh(path);
+		}
+	}
+
+	void recomputeAll() {
+		recompute(root);
+	}
+
+	List<Entry> lookup(String prefix, int limit) {
+		String normalized = normalize(prefix);
+		if (normalized.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		Node node = root;
+		int depth = Math.min(normalized.length(), MAX_DEPTH);
+		for (int i = 0; i < depth && node != null; i++) {
+			node = node.child(normalized.charAt(i));
+		}
+		if (node == null) {
+			return Collections.emptyList();
+		}
+		if (normalized.length() <= MAX_DEPTH) {
+			return Arrays.asList(node.top).subList(0, Math.min(limit, node.top.length));
+		}
+		// Past the key cap only this node's terminals can match; check them against the full prefix
+		List<Entry> matches = new ArrayList<>();
+		for (Entry entry : node.terminals) {
+			if (entry.normalized.startsWith(normalized) || entry.normalized.contains(" " + normalized)) {
+				matches.add(entry);
+			}
+		}
+		matches.sort(RANK);
+		return matches.subList(0, Math.min(limit, matches.size()));
+	}
+
+	int size() {
+		return entries.size();
+	}
+
+	static String normalize(String text) {
+		return String.join(" ", BookSearchIndex.terms(text));
+	}
+
+	private static Set<String> keys(String normalized) {
+		Set<String> keys = new LinkedHashSet<>();
+		keys.add(truncate(normalized));
+		for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+			keys.add(truncate(normalized.substring(i + 1)));
+		}
+		return keys;
+	}
+
+	private static String truncate(String key) {
+		return key.length() > MAX_DEPTH ? key.substring(0, MAX_DEPTH) : key;
+	}
+
+	/**
+	 * @return the nodes from the root to the end of {@code key}, or {@code null} when the
+	 *         key is absent and {@code create} is false
+	 */
+	private List<Node> walk(String key, boolean create) {
+		List<Node> path = new ArrayList<>(key.length() + 1);
+		Node node = root;
+		path.add(node);
+		for (int i = 0; i < key.length(); i++) {
+			node = create ? node.childOrCreate(key.charAt(i)) : node.child(key.charAt(i));
+			if (node == null) {
+				return null;
+			}
+			path.add(node);
+		}
+		return path;
+	}
+
+	/**
+	 * Detaches nodes at the end of the path that no longer lead to any completion.
+	 */
+	private static List<Node> prune(List<Node> path, String key) {
+		int last = path.size() - 1;
+		while (last > 0 && path.get(last).isEmpty()) {
+			path.get(last - 1).removeChild(key.charAt(last - 1));
+			last--;
+		}
+		return path.subList(0, last + 1);
+	}
+
+	private void refresh(List<Node> path) {
+		for (int i = path.size() - 1; i >= 0; i--) {
+			Node node = path.get(i);
+			node.top = computeTop(node);
+		}
+	}
+
+	private void recompute(Node node) {
+		for (Node child : node.children) {
+			recompute(child);
+		}
+		node.top = computeTop(node);
+	}
+
+	private Entry[] computeTop(Node node) {
+		List<Entry> candidates = new ArrayList<>(node.terminals.length + node.children.length * topK);
+		Collections.addAll(candidates, node.terminals);
+		for (Node child : node.children) {
+			Collections.addAll(candidates, child.top);
+		}
+		candidates.sort(RANK);
+		Entry[] top = new Entry[Math.min(topK, candidates.size())];
+		int count = 0;
+		for (Entry candidate : candidates) {
+			if (count == top.length) {
+				break;
+			}
+			// the same completion reaches a node through several word-start keys
+			if (!contains(top, count, candidate)) {
+				top[count++] = candidate;
+			}
+		}
+		return count == top.length ? top : Arrays.copyOf(top, count);
+	}
+
+	private static boolean contains(Entry[] entries, int length, Entry entry) {
+		for (int i = 0; i < length; i++) {
+			if (entries[i] == entry) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Entry[] append(Entry[] entries, Entry entry) {
+		Entry[] result = Arrays.copyOf(entries, entries.length + 1);
+		result[entries.length] = entry;
+		return result;
+	}
+
+	private static Entry[] without(Entry[] entries, Entry entry) {
+		for (int i = 0; i < entries.length; i++) {
+			if (entries[i] == entry) {
+				Entry[] result = new Entry[entries.length - 1];
+				System.arraycopy(entries, 0, result, 0, i);
+				System.arraycopy(entries, i + 1, result, i, entries.length - i - 1);
+				return result;
+			}
+		}
+		return entries;
+	}
+
+	static final class Entry {
+		final SuggestionType type;
+		final String text;
+		final String normalized;
+		int weight;
+
+		Entry(SuggestionType type, String text, String normalized) {
+			this.type = type;
+			this.text = text;
+			this.normalized = normalized;
+		}
+	}
+
+	private static final class Node {
+		char[] labels = NO_LABELS;
+		Node[] children = NO_CHILDREN;
+		Entry[] terminals = NO_ENTRIES;
+		Entry[] top = NO_ENTRIES;
+
+		Node child(char label) {
+			int i = Arrays.binarySearch(labels, label);
+			return i >= 0 ? children[i] : null;
+		}
+
+		Node childOrCreate(char label) {
+			int i = Arrays.binarySearch(labels, label);
+			if (i >= 0) {
+				return children[i];
+			}
+			int insertAt = -i - 1;
+			Node child = new Node();
+			char[] newLabels = new char[labels.length + 1];
+			Node[] newChildren = new Node[children.length + 1];
+			System.arraycopy(labels, 0, newLabels, 0, insertAt);
+			System.arraycopy(children, 0, newChildren, 0, insertAt);
+			newLabels[insertAt] = label;
+			newChildren[insertAt] = child;
+			System.arraycopy(labels, insertAt, newLabels, insertAt + 1, labels.length - insertAt);
+			System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+			labels = newLabels;
+			children = newChildren;
+			return child;
+		}
+
+		void removeChild(char label) {
+			int i = Arrays.binarySearch(labels, label);
+			if (i < 0) {
+				return;
+			}
+			char[] newLabels = new char[labels.length - 1];
+			Node[] newChildren = new Node[children.length - 1];
+			System.arraycopy(labels, 0, newLabels, 0, i);
+			System.arraycopy(children, 0, newChildren, 0, i);
+			System.arraycopy(labels, i + 1, newLabels, i, labels.length - i - 1);
+			System.arraycopy(children, i + 1, newChildren, i, children.length - i - 1);
+			labels = newLabels;
+			children = newChildren;
+		}
+
+		boolean isEmpty() {
+			return terminals.length == 0 && children.length == 0;
+		}
+	}
+}
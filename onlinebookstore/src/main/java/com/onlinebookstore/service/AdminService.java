@@ -1,22 +1,28 @@
 package com.onlinebookstore.service;
 
+import java.time.LocalDate;
 import java.util.List;
 
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.dto.CategoryDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderPageDTO;
 import com.onlinebookstore.entity.Book;
 import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.enums.OrderStatus;
 
 public interface AdminService {
 	Category createdCategory(CategoryDTO categoryDTO);
 	List<CategoryDTO> getAllCategories();
 	Book postBook(Long categoryId, BookDTO bookDTO);
 	List<BookDTO> getAllBooks();
+	BookPageDTO getBooksPage(String cursor, Integer size);
 	void deletebook(Long id);
 	BookDTO getBookById(Long id);
 	BookDTO UpdateBook(Long categoryId,Long bookId,BookDTO bookDTO);
 	List<OrderDTO> getAllOrders();
+	OrderPageDTO getOrdersPage(OrderStatus status, LocalDate from, LocalDate to, String cursor, Integer size);
 	void deleteCategory(Long categoryId);
 
 }
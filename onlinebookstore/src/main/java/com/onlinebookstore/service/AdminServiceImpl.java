@@ -1,26 +1,42 @@
 package com.onlinebookstore.service;
 
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.onlinebookstore.config.CacheConfiguration;
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.dto.CategoryDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderPageDTO;
 import com.onlinebookstore.entity.Book;
 import com.onlinebookstore.entity.Category;
 import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
 import com.onlinebookstore.exception.BookNotFoundException;
+import com.onlinebookstore.metrics.BookstoreMetrics;
 import com.onlinebookstore.repository.BookRepository;
 import com.onlinebookstore.repository.CategoryRepository;
 import com.onlinebookstore.repository.OrderRepository;
 import com.onlinebookstore.mapper.BookMapper;
 import com.onlinebookstore.mapper.CategoryMapper;
 import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.util.CursorUtil;
+
+import io.micrometer.core.annotation.Timed;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +44,7 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
 @Slf4j
 public class AdminServiceImpl implements AdminService {
 	private final CategoryRepository categoryRepository;
@@ -36,8 +53,17 @@ public class AdminServiceImpl implements AdminService {
 	private final BookMapper bookMapper;
 	private final CategoryMapper categoryMapper;
 	private final OrderMapper orderMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final OrderArchiveService orderArchiveService;
+	private final CartSummaryService cartSummaryService;
+	private final BookPageService bookPageService;
+
+	// Open ends of the order date filter, kept within the range of a SQL DATETIME
+	private static final LocalDate MIN_ORDER_DATE = LocalDate.of(1970, 1, 2);
+	private static final LocalDate MAX_ORDER_DATE = LocalDate.of(9999, 12, 31);
 	
 	@Override
+	@CacheEvict(cacheNames = CacheConfiguration.CATEGORIES, key = CacheConfiguration.ALL_KEY_EXPRESSION)
 	public Category createdCategory(CategoryDTO categoryDTO) {
 		log.info("Creating new category: {}", categoryDTO.getName());
 		Category category=new Category();
@@ -50,6 +76,7 @@ public class AdminServiceImpl implements AdminService {
 	
 	@Override
 	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfiguration.CATEGORIES, key = CacheConfiguration.ALL_KEY_EXPRESSION)
 	public List<CategoryDTO> getAllCategories()
 	{
 		return categoryRepository.findAll().stream().map(categoryMapper::toDTO).collect(Collectors.toList());
@@ -68,6 +95,7 @@ public class AdminServiceImpl implements AdminService {
 			book.setCategory(optionalCategory.get());
 			Book savedBook = bookRepository.save(book);
 			log.info("Book created successfully with ID: {}", savedBook.getId());
+			eventPublisher.publishEvent(new BookChangedEvent(bookMapper.toDTO(savedBook)));
 			return savedBook;
 		}
 		log.warn("Category not found with ID: {}", categoryId);
@@ -76,8 +104,15 @@ public class AdminServiceImpl implements AdminService {
 	
 	@Override
 	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfiguration.BOOK_LIST, key = CacheConfiguration.ALL_KEY_EXPRESSION)
 	public List<BookDTO> getAllBooks(){
-		return bookRepository.findAll().stream().map(bookMapper::toDTO).collect(Collectors.toList());
+		return bookRepository.findAllBookDTOs();
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public BookPageDTO getBooksPage(String cursor, Integer size) {
+		return bookPageService.getBooksPage(cursor, size);
 	}
 	
 	@Override
@@ -88,12 +123,16 @@ public class AdminServiceImpl implements AdminService {
 			log.error("Book not found with ID: {}", id);
 			throw new BookNotFoundException("Book not found");
 		}
+		// Deleting the book cascades to its cart lines, which locate the summaries holding it
+		cartSummaryService.evictBooks(List.of(id));
 		bookRepository.deleteById(id);
 		log.info("Book deleted successfully with ID: {}", id);
+		eventPublisher.publishEvent(new BookDeletedEvent(id));
 	}
 	
 	@Override
 	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfiguration.BOOKS, key = "#id", unless = "#result == null")
 	public BookDTO getBookById(Long id) {
 		Optional<Book> optionalBook=bookRepository.findById(id);
 		if(optionalBook.isPresent())
@@ -118,25 +157,57 @@ public class AdminServiceImpl implements AdminService {
 			book.setCategory(optionalCategory.get());
 			Book updatedBook=bookRepository.save(book);
 			log.info("Book updated successfully with ID: {}", bookId);
-	        return bookMapper.toDTO(updatedBook);
+			BookDTO updatedBookDTO = bookMapper.toDTO(updatedBook);
+			eventPublisher.publishEvent(new BookChangedEvent(updatedBookDTO));
+	        return updatedBookDTO;
 		}
 		log.warn("Book or category not found. Book ID: {}, Category ID: {}", bookId, categoryId);
 		return null;
 	}
 	
+	/** Hot orders first, then the newest archived ones up to {@link OrderArchiveService#MAX_UNPAGED_ORDERS} */
 	@Override
 	@Transactional(readOnly = true)
 	public List<OrderDTO> getAllOrders() {
-		return orderRepository.findAllByOrderStatus(OrderStatus.SUBMITTED).stream().map(orderMapper::toDTO).collect(Collectors.toList());
+		List<OrderDTO> orders = orderRepository.findAllByOrderStatus(OrderStatus.SUBMITTED).stream().map(orderMapper::toDTO).collect(Collectors.toList());
+		return orderArchiveService.withArchivedOrders(orders);
+	}
+	
+	/**
+	 * Two statements per page whatever its size: the id page, then the orders with their
+	 * users, cart items and books fetch-joined. Dates are whole days in the server time zone.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public OrderPageDTO getOrdersPage(OrderStatus status, LocalDate from, LocalDate to, String cursor, Integer size) {
+		int pageSize = CursorUtil.clampPageSize(size);
+		long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : CursorUtil.decode(cursor);
+		OrderStatus orderStatus = status == null ? OrderStatus.SUBMITTED : status;
+		Date fromDate = toDate(from == null ? MIN_ORDER_DATE : from);
+		Date toDate = toDate(to == null ? MAX_ORDER_DATE : to.plusDays(1));
+
+		List<Long> rows = orderRepository.findIdPage(orderStatus, fromDate, toDate, beforeId, Limit.of(pageSize + 1));
+		List<Order> orders = rows.isEmpty() ? List.of()
+				: orderRepository.findAllWithCartItemsByIdIn(rows.subList(0, Math.min(pageSize, rows.size())));
+		return orderMapper.toPageDTO(rows, orders, pageSize);
+	}
+
+	private static Date toDate(LocalDate date) {
+		return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
 	}
 	
 	@Override
+	@CacheEvict(cacheNames = CacheConfiguration.CATEGORIES, key = CacheConfiguration.ALL_KEY_EXPRESSION)
 	public void deleteCategory(Long categoryId) {
 	    Optional<Category> optionalCategory = categoryRepository.findById(categoryId);
 	    if (optionalCategory.isEmpty()) {
 	        throw new RuntimeException("Category not found");
 	    }
+	    // Books go with their category through ON DELETE CASCADE, so collect their ids first
+	    List<Long> bookIds = bookRepository.findIdsByCategoryId(categoryId);
+	    cartSummaryService.evictBooks(bookIds);
 	    categoryRepository.deleteById(categoryId);
+	    bookIds.forEach(bookId -> eventPublisher.publishEvent(new BookDeletedEvent(bookId)));
 	}
 
 }
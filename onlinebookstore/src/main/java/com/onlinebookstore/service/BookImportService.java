@@ -0,0 +1,11 @@
+package com.onlinebookstore.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.onlinebookstore.dto.BookImportResultDTO;
+import com.onlinebookstore.enums.DataFormat;
+
+public interface BookImportService {
+	BookImportResultDTO importBooks(DataFormat format, InputStream in) throws IOException;
+}
@@ -0,0 +1,262 @@
+package com.onlinebookstore.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookImportErrorDTO;
+import com.onlinebookstore.dto.BookImportResultDTO;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.event.CatalogBulkLoadedEvent;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.CategoryRepository;
+import com.onlinebookstore.util.CsvReader;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import io.micrometer.core.annotation.Timed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams a CSV or NDJSON upload into {@code books}. Categories are resolved once up
+ * front, rows are checked against the same constraints as {@link BookDTO}, and valid
+ * rows are inserted through plain JDBC batches, one transaction per batch. The entity
+ * path cannot batch these inserts because {@code Book} ids are IDENTITY-generated.
+ * Invalid rows are reported by line and skipped.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+
+	static final String INSERT_SQL = "insert into books (title, author, price, image_url, category_id) values (?, ?, ?, ?, ?)";
+	static final int MAX_REPORTED_ERRORS = 1000;
+
+	// CSV header names, lower-cased with '_' and spaces removed, mapped to their field
+	private static final Map<String, String> CSV_COLUMNS = Map.of(
+			"title", "title",
+			"author", "author",
+			"price", "price",
+			"imageurl", "imageUrl",
+			"categoryid", "categoryId",
+			"category", "category",
+			"categoryname", "category");
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final CategoryRepository categoryRepository;
+	private final ObjectMapper objectMapper;
+	private final Validator validator;
+	private final ApplicationEventPublisher eventPublisher;
+
+	@Value("${catalog.import.batch-size:1000}")
+	private int batchSize = 1000;
+
+	@Override
+	public BookImportResultDTO importBooks(DataFormat format, InputStream in) throws IOException {
+		long start = System.currentTimeMillis();
+		Import run = new Import(categoryRepository.findAll());
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+		try {
+			if (format == DataFormat.NDJSON) {
+				readNdjson(reader, run);
+			} else {
+				readCsv(reader, run);
+			}
+			run.flush();
+		} finally {
+			// Batches already committed stay in the catalog even if the upload fails later on
+			if (run.result.getImported() > 0) {
+				eventPublisher.publishEvent(new CatalogBulkLoadedEvent(run.result.getImported()));
+			}
+		}
+
+		BookImportResultDTO result = run.result;
+		result.setDurationMillis(System.currentTimeMillis() - start);
+		log.info("Imported {} of {} books ({} failed) in {} ms", result.getImported(), result.getTotalRows(),
+				result.getFailed(), result.getDurationMillis());
+		return result;
+	}
+
+	private void readCsv(BufferedReader reader, Import run) throws IOException {
+		CsvReader csv = new CsvReader(reader);
+		List<String> header = csv.next();
+		if (header == null) {
+			return;
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			String field = CSV_COLUMNS.get(header.get(i).trim().toLowerCase(Locale.ROOT).replace("_", "").replace(" ", ""));
+			if (field != null) {
+				columns.putIfAbsent(field, i);
+			}
+		}
+		for (String required : List.of("title", "author", "price")) {
+			if (!columns.containsKey(required)) {
+				throw new IllegalArgumentException("Missing CSV column: " + required);
+			}
+		}
+		if (!columns.containsKey("categoryId") && !columns.containsKey("category")) {
+			throw new IllegalArgumentException("Missing CSV column: categoryId or category");
+		}
+
+		List<String> record;
+		while ((record = csv.next()) != null) {
+			if (record.size() == 1 && record.get(0).isBlank()) {
+				continue;
+			}
+			List<String> fields = record;
+			run.add(csv.getRecordLineNumber(), name -> {
+				Integer index = columns.get(name);
+				return index == null || index >= fields.size() ? null : fields.get(index);
+			});
+		}
+	}
+
+	private void readNdjson(BufferedReader reader, Import run) throws IOException {
+		String line;
+		long lineNumber = 0;
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+			if (line.isBlank()) {
+				continue;
+			}
+			JsonNode node;
+			try {
+				node = objectMapper.readTree(line);
+			} catch (JsonProcessingException e) {
+				run.reject(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+				continue;
+			}
+			run.add(lineNumber, name -> {
+				JsonNode value = node.get(name);
+				return value == null || value.isNull() ? null : value.asText();
+			});
+		}
+	}
+
+	/** State of one upload: category lookup, the pending batch and the running report */
+	private class Import {
+		private final Set<Long> categoryIds = new HashSet<>();
+		private final Map<String, Long> categoryIdsByName = new HashMap<>();
+		private final List<Object[]> batch = new ArrayList<>();
+		private final List<Long> batchLines = new ArrayList<>();
+		private final BookImportResultDTO result = new BookImportResultDTO();
+
+		Import(List<Category> categories) {
+			for (Category category : categories) {
+				categoryIds.add(category.getId());
+				categoryIdsByName.putIfAbsent(category.getName().trim().toLowerCase(Locale.ROOT), category.getId());
+			}
+		}
+
+		void add(long line, Function<String, String> field) {
+			result.setTotalRows(result.getTotalRows() + 1);
+			BookDTO book = new BookDTO();
+			book.setTitle(trim(field.apply("title")));
+			book.setAuthor(trim(field.apply("author")));
+			book.setImageUrl(trim(field.apply("imageUrl")));
+			try {
+				String price = trim(field.apply("price"));
+				book.setPrice(price == null ? null : Integer.valueOf(price));
+			} catch (NumberFormatException e) {
+				reject(line, "Invalid price: " + field.apply("price"));
+				return;
+			}
+			String categoryId = trim(field.apply("categoryId"));
+			String category = trim(field.apply("category"));
+			try {
+				if (categoryId != null) {
+					Long id = Long.valueOf(categoryId);
+					book.setCategoryId(categoryIds.contains(id) ? id : null);
+					if (book.getCategoryId() == null) {
+						reject(line, "Unknown category id: " + categoryId);
+						return;
+					}
+				} else if (category != null) {
+					book.setCategoryId(categoryIdsByName.get(category.toLowerCase(Locale.ROOT)));
+					if (book.getCategoryId() == null) {
+						reject(line, "Unknown category: " + category);
+						return;
+					}
+				}
+			} catch (NumberFormatException e) {
+				reject(line, "Invalid category id: " + categoryId);
+				return;
+			}
+
+			Set<ConstraintViolation<BookDTO>> violations = validator.validate(book);
+			if (!violations.isEmpty()) {
+				reject(line, violations.stream().map(ConstraintViolation::getMessage).sorted()
+						.collect(Collectors.joining("; ")));
+				return;
+			}
+
+			batch.add(new Object[] { book.getTitle(), book.getAuthor(), book.getPrice(), book.getImageUrl(),
+					book.getCategoryId() });
+			batchLines.add(line);
+			if (batch.size() >= batchSize) {
+				flush();
+			}
+		}
+
+		void reject(long line, String message) {
+			result.setFailed(result.getFailed() + 1);
+			if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+				result.getErrors().add(new BookImportErrorDTO(line, message));
+			}
+		}
+
+		void flush() {
+			if (batch.isEmpty()) {
+				return;
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch));
+				result.setImported(result.getImported() + batch.size());
+			} catch (DataAccessException e) {
+				log.warn("Book import batch of {} rows failed", batch.size(), e);
+				String message = "Batch insert failed: " + e.getMostSpecificCause().getMessage();
+				for (Long line : batchLines) {
+					reject(line, message);
+				}
+			}
+			batch.clear();
+			batchLines.clear();
+		}
+
+		private String trim(String value) {
+			if (value == null) {
+				return null;
+			}
+			String trimmed = value.trim();
+			return trimmed.isEmpty() ? null : trimmed;
+		}
+	}
+}
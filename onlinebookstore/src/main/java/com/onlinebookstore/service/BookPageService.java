@@ -0,0 +1,12 @@
+package com.onlinebookstore.service;
+
+import com.onlinebookstore.dto.BookPageDTO;
+
+/**
+ * Keyset pages over the catalog, shared by the customer and admin book listings.
+ */
+public interface BookPageService {
+
+	/** The books after the cursor in id order; a missing cursor starts at the first book */
+	BookPageDTO getBooksPage(String cursor, Integer size);
+}
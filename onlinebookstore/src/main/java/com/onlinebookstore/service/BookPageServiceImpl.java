@@ -0,0 +1,36 @@
+package com.onlinebookstore.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.util.CursorUtil;
+
+import io.micrometer.core.annotation.Timed;
+
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+public class BookPageServiceImpl implements BookPageService {
+
+	private final BookRepository bookRepository;
+	private final BookMapper bookMapper;
+
+	@Override
+	@Transactional(readOnly = true)
+	public BookPageDTO getBooksPage(String cursor, Integer size) {
+		int pageSize = CursorUtil.clampPageSize(size);
+		long afterId = CursorUtil.decode(cursor);
+		List<BookDTO> rows = bookRepository.findBookDTOPage(afterId, Limit.of(pageSize + 1));
+		return bookMapper.toPageDTO(rows, pageSize);
+	}
+}
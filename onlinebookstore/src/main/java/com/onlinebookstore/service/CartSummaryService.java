@@ -0,0 +1,28 @@
+package com.onlinebookstore.service;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import com.onlinebookstore.dto.OrderDTO;
+
+/**
+ * The cart read model: one denormalized row per user, written by cart mutations and read
+ * by the cart view.
+ */
+public interface CartSummaryService {
+
+	/** The cart from its summary row alone, if the row exists */
+	Optional<OrderDTO> findCart(Long userId);
+
+	/** Builds the missing summary of a user's pending cart under the order's row lock */
+	OrderDTO rebuild(Long userId);
+
+	/** Rewrites the summary from the cart lines; called by cart mutations holding the order lock */
+	void refresh(Long userId, Long orderId);
+
+	/** Drops the summary of an order that is no longer a pending cart */
+	void evictOrder(Long orderId);
+
+	/** Drops the summaries of the carts holding the books; called before the books are deleted */
+	void evictBooks(Collection<Long> bookIds);
+}
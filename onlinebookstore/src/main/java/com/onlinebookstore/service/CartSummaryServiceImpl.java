@@ -0,0 +1,108 @@
+package com.onlinebookstore.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.entity.CartSummary;
+import com.onlinebookstore.entity.CartSummaryLine;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.exception.ResourceNotFoundException;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.CartItemsRepository;
+import com.onlinebookstore.repository.CartSummaryRepository;
+import com.onlinebookstore.repository.OrderRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Summaries are rewritten inside each cart mutation, under the same order row lock, so a
+ * committed summary always matches the committed cart. A missing summary (first view,
+ * submitted order, changed book) is rebuilt on the next read.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+public class CartSummaryServiceImpl implements CartSummaryService {
+
+	private final CartSummaryRepository cartSummaryRepository;
+	private final CartItemsRepository cartItemsRepository;
+	private final OrderRepository orderRepository;
+	private final OrderMapper orderMapper;
+
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<OrderDTO> findCart(Long userId) {
+		return cartSummaryRepository.findById(userId).map(orderMapper::toDTO);
+	}
+
+	@Override
+	@Transactional
+	public OrderDTO rebuild(Long userId) {
+		// Locked first, so this transaction reads the summary and lines no older than the last cart write
+		Order pendingOrder = orderRepository.findForUpdateByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
+		if (pendingOrder == null) {
+			throw new ResourceNotFoundException("No cart found for user " + userId);
+		}
+		return orderMapper.toDTO(write(userId, pendingOrder.getId()));
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void refresh(Long userId, Long orderId) {
+		write(userId, orderId);
+	}
+
+	@Override
+	@Transactional
+	public void evictOrder(Long orderId) {
+		cartSummaryRepository.deleteByOrderId(orderId);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void evictBooks(Collection<Long> bookIds) {
+		if (!bookIds.isEmpty()) {
+			cartSummaryRepository.deleteByBookIdIn(bookIds);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	public void onBookChanged(BookChangedEvent event) {
+		cartSummaryRepository.deleteByBookId(event.getBook().getId());
+	}
+
+	private CartSummary write(Long userId, Long orderId) {
+		// Pending entity changes of the mutation must be visible to the line query
+		cartItemsRepository.flush();
+		List<CartSummaryLine> lines = cartItemsRepository.findSummaryLines(orderId);
+		long total = 0;
+		long itemCount = 0;
+		for (CartSummaryLine line : lines) {
+			total += line.getPrice();
+			itemCount += line.getQuantity();
+		}
+
+		CartSummary summary = cartSummaryRepository.findById(userId).orElseGet(CartSummary::new);
+		summary.setUserId(userId);
+		summary.setOrderId(orderId);
+		summary.setLines(lines);
+		summary.setTotal(total);
+		summary.setItemCount(itemCount);
+		summary.setUpdatedAt(new Date());
+		return cartSummaryRepository.save(summary);
+	}
+}
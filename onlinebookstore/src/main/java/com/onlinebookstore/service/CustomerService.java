@@ -1,19 +1,30 @@
 package com.onlinebookstore.service;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.dto.CartOperationDTO;
+import com.onlinebookstore.dto.OrderConfirmationDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderHistoryPageDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
 import com.onlinebookstore.dto.PlaceOrderDTO;
+import com.onlinebookstore.dto.SuggestionDTO;
 
 public interface CustomerService {
 	List<BookDTO> getAllBooks();
 
+	BookPageDTO getBooksPage(String cursor, Integer size);
+
 	List<BookDTO> searchBookByTitle(String title);
 
+	List<SuggestionDTO> suggestBooks(String prefix, Integer limit);
+
 	ResponseEntity<?> addBooktoCart(CartDTO cartDTO);
 
 	OrderDTO getCartByUserId(Long userId);
@@ -22,9 +33,15 @@ public interface CustomerService {
 
 	OrderDTO addPlusBook(Long userId, Long productid);
 
-	OrderDTO placeOrder(PlaceOrderDTO placeOrderDTO);
+	OrderDTO applyCartOperations(Long userId, List<CartOperationDTO> operations);
+
+	OrderConfirmationDTO placeOrder(PlaceOrderDTO placeOrderDTO);
 
 	List<OrderDTO> getOrdersByUserId(Long userId);
+
+	OrderHistoryPageDTO getOrderHistory(Long userId, String cursor, Integer size);
+
+	Map<Long, List<OrderItemDTO>> getOrderItems(Long userId, List<Long> orderIds);
 	
 	void removeBookFromCart(Long userId, Long bookId);
 }
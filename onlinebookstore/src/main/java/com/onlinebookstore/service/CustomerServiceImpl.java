@@ -2,20 +2,40 @@ package com.onlinebookstore.service;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import io.micrometer.core.annotation.Timed;
+
+import com.onlinebookstore.config.CacheConfiguration;
 import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
 import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.dto.CartOperationDTO;
+import com.onlinebookstore.dto.OrderConfirmationDTO;
 import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderHistoryPageDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
+import com.onlinebookstore.dto.OrderSummaryDTO;
 import com.onlinebookstore.dto.PlaceOrderDTO;
+import com.onlinebookstore.dto.SuggestionDTO;
 import com.onlinebookstore.entity.Book;
 import com.onlinebookstore.entity.CartItems;
 import com.onlinebookstore.entity.Order;
@@ -29,6 +49,12 @@ import com.onlinebookstore.repository.UserRepository;
 import com.onlinebookstore.mapper.BookMapper;
 import com.onlinebookstore.mapper.CartMapper;
 import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.metrics.BookstoreMetrics.CartOperation;
+import com.onlinebookstore.metrics.BookstoreMetrics.Outcome;
+import com.onlinebookstore.search.BookSearchIndex;
+import com.onlinebookstore.search.BookSuggester;
+import com.onlinebookstore.util.CursorUtil;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -36,6 +62,7 @@ import lombok.extern.slf4j.Slf4j;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Timed(BookstoreMetrics.SERVICE_TIMER)
 @Slf4j
 public class CustomerServiceImpl implements CustomerService{
 
@@ -46,67 +73,77 @@ public class CustomerServiceImpl implements CustomerService{
 	private final BookMapper bookMapper;
 	private final CartMapper cartMapper;
 	private final OrderMapper orderMapper;
+	private final BookSearchIndex bookSearchIndex;
+	private final BookSuggester bookSuggester;
+	private final BookstoreMetrics metrics;
+	private final CartSummaryService cartSummaryService;
+	private final OrderArchiveService orderArchiveService;
+	private final BookPageService bookPageService;
 
 @Override
 @Transactional(readOnly = true)
+@Cacheable(cacheNames = CacheConfiguration.BOOK_LIST, key = CacheConfiguration.ALL_KEY_EXPRESSION)
 public List<BookDTO> getAllBooks() {
-	return bookRepository.findAll().stream().map(bookMapper::toDTO).collect(Collectors.toList());
+	return bookRepository.findAllBookDTOs();
 }
 
-
 @Override
 @Transactional(readOnly = true)
+public BookPageDTO getBooksPage(String cursor, Integer size) {
+	return bookPageService.getBooksPage(cursor, size);
+}
+
+
+// Served from the in-memory index without opening a transaction; the LIKE query is only
+// used until the index has finished its initial build
+@Override
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 public List<BookDTO> searchBookByTitle(String title){
+	if (bookSearchIndex.isReady()) {
+		return bookSearchIndex.search(title);
+	}
 	return bookRepository.findAllByTitleContaining(title).stream().map(bookMapper::toDTO).collect(Collectors.toList());
 }
 
+@Override
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+public List<SuggestionDTO> suggestBooks(String prefix, Integer limit) {
+	int bounded = limit == null || limit <= 0 ? BookSuggester.MAX_SUGGESTIONS : limit;
+	return bookSuggester.suggest(prefix, bounded);
+}
+
 @Override
 public ResponseEntity<?> addBooktoCart(CartDTO cartDTO) {
     try {
         log.info("Adding book to cart - User ID: {}, Book ID: {}", cartDTO.getUserId(), cartDTO.getBookId());
 
-        // Fetch the pending order for the user
-        Order pendingOrder = orderRepository.findByUserIdAndOrderStatus(cartDTO.getUserId(), OrderStatus.PENDING);
+        // Fetch and lock the pending order for the user
+        Order lockedOrder = orderRepository.findForUpdateByUserIdAndOrderStatus(cartDTO.getUserId(), OrderStatus.PENDING);
+        Long pendingOrderId = lockedOrder == null ? null : lockedOrder.getId();
 
-        if (pendingOrder == null) {
+        if (pendingOrderId == null) {
             User user = userRepository.findById(cartDTO.getUserId())
                     .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-            pendingOrder = new Order();
+            Order pendingOrder = new Order();
             pendingOrder.setUser(user);
             pendingOrder.setOrderStatus(OrderStatus.PENDING);
             pendingOrder.setPrice(0L);
             pendingOrder.setDate(new Date());
             pendingOrder.setCartItems(new ArrayList<>());
-            pendingOrder = orderRepository.save(pendingOrder);
+            pendingOrderId = orderRepository.save(pendingOrder).getId();
         }
 
-        Optional<CartItems> optionalCartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(
-                cartDTO.getUserId(), cartDTO.getBookId(), pendingOrder.getId()
-        );
-
-        if (optionalCartItem.isPresent()) {
-            CartItems existingCartItem = optionalCartItem.get();
-            Book book = existingCartItem.getBook();
-
-            existingCartItem.setQuantity(existingCartItem.getQuantity() + 1);
-            existingCartItem.setPrice(existingCartItem.getPrice() + book.getPrice());
+        // Quantity, line price and order total are adjusted in place, so concurrent adds are never lost
+        if (cartItemsRepository.adjustQuantity(pendingOrderId, cartDTO.getUserId(), cartDTO.getBookId(), 1) == 1) {
+            orderRepository.addBookToPrice(pendingOrderId, cartDTO.getBookId(), 1);
 
-            CartItems updatedCartItem = cartItemsRepository.save(existingCartItem);
-
-            pendingOrder.setPrice(pendingOrder.getPrice() + book.getPrice());
-            orderRepository.save(pendingOrder);
-
-            CartDTO updatedCartItemDTO = new CartDTO();
-            updatedCartItemDTO.setId(updatedCartItem.getId());
-            updatedCartItemDTO.setPrice(updatedCartItem.getPrice());
-            updatedCartItemDTO.setQuantity(updatedCartItem.getQuantity());
-            updatedCartItemDTO.setBookId(updatedCartItem.getBook().getId());
-            updatedCartItemDTO.setOrderId(pendingOrder.getId());
-            updatedCartItemDTO.setBookTitle(updatedCartItem.getBook().getTitle());
-            updatedCartItemDTO.setUserId(updatedCartItem.getUser().getId());
-
-            return ResponseEntity.status(HttpStatus.OK).body(updatedCartItemDTO);
+            CartItems updatedCartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(
+                    cartDTO.getUserId(), cartDTO.getBookId(), pendingOrderId
+            ).orElseThrow(() -> new ResourceNotFoundException("Cart item not found"));
+            cartSummaryService.refresh(cartDTO.getUserId(), pendingOrderId);
+            metrics.cartUpdated(CartOperation.ADD, Outcome.SUCCESS);
+            return ResponseEntity.status(HttpStatus.OK).body(cartMapper.toDTO(updatedCartItem));
         } else {
             Optional<Book> optionalBook = bookRepository.findById(cartDTO.getBookId());
             Optional<User> optionalUser = userRepository.findById(cartDTO.getUserId());
@@ -119,25 +156,17 @@ public ResponseEntity<?> addBooktoCart(CartDTO cartDTO) {
                 cartItems.setBook(book);
                 cartItems.setUser(user);
                 cartItems.setQuantity(1L);
-                cartItems.setOrder(pendingOrder);
+                cartItems.setOrder(orderRepository.getReferenceById(pendingOrderId));
                 cartItems.setPrice(book.getPrice());
 
                 CartItems updatedCart = cartItemsRepository.save(cartItems);
+                CartDTO updatedCartItemDTO = cartMapper.toDTO(updatedCart);
 
-                pendingOrder.setPrice(pendingOrder.getPrice() + cartItems.getPrice());
-                pendingOrder.getCartItems().add(updatedCart);
-                orderRepository.save(pendingOrder);
-
-                CartDTO updatedCartItemDTO = new CartDTO();
-                updatedCartItemDTO.setId(updatedCart.getId());
-                updatedCartItemDTO.setPrice(updatedCart.getPrice());
-                updatedCartItemDTO.setQuantity(updatedCart.getQuantity());
-                updatedCartItemDTO.setBookId(updatedCart.getBook().getId());
-                updatedCartItemDTO.setOrderId(pendingOrder.getId());
-                updatedCartItemDTO.setBookTitle(book.getTitle());
-                updatedCartItemDTO.setUserId(user.getId());
+                orderRepository.addToPrice(pendingOrderId, updatedCart.getPrice());
+                cartSummaryService.refresh(cartDTO.getUserId(), pendingOrderId);
 
                 log.info("Book added to cart successfully - Cart Item ID: {}", updatedCart.getId());
+                metrics.cartUpdated(CartOperation.ADD, Outcome.SUCCESS);
                 return ResponseEntity.status(HttpStatus.CREATED).body(updatedCartItemDTO);
             } else {
                 throw new ResourceNotFoundException("User or book not found");
@@ -145,89 +174,131 @@ public ResponseEntity<?> addBooktoCart(CartDTO cartDTO) {
         }
     } catch (Exception e) {
         log.error("Error adding book to cart - User ID: {}, Book ID: {}", cartDTO.getUserId(), cartDTO.getBookId(), e);
+        metrics.cartUpdated(CartOperation.ADD, Outcome.FAILURE);
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error adding book to cart: " + e.getMessage());
     }
 }
 
+/**
+ * One primary-key read of the cart summary; only a missing summary is rebuilt from the cart.
+ * Runs without an outer transaction so the rebuild starts its own, under the order lock.
+ */
 @Override
-@Transactional(readOnly = true)
+@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 public OrderDTO getCartByUserId(Long userId) {
-	Order pendingOrder=orderRepository.findByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
-	List<CartDTO> cartDTOList=pendingOrder.getCartItems().stream().map(cartMapper::toDTO).collect(Collectors.toList());
-	OrderDTO orderDTO=new OrderDTO();
-	orderDTO.setCartDTO(cartDTOList);
-	orderDTO.setAmount(pendingOrder.getPrice());
-	orderDTO.setId(pendingOrder.getId());
-	orderDTO.setOrderStatus(pendingOrder.getOrderStatus());
-	return orderDTO;
+	return cartSummaryService.findCart(userId).orElseGet(() -> cartSummaryService.rebuild(userId));
 }
 
 @Override
 public OrderDTO addMinusBook(Long userId,Long bookId) {
-	Order pendingOrder =orderRepository.findByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
-	Optional<Book> optionalBook=bookRepository.findById(bookId);
-	Optional<CartItems> optionalCartItems=cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, pendingOrder.getId());
-	
-	if(optionalCartItems.isPresent() && optionalBook.isPresent()) {
-		CartItems cartItem=optionalCartItems.get();
-		cartItem.setQuantity(cartItem.getQuantity()-1);
-		cartItem.setPrice(optionalCartItems.get().getPrice() - optionalBook.get().getPrice());
-		pendingOrder.setPrice(pendingOrder.getPrice() - optionalBook.get().getPrice());
-		cartItemsRepository.save(cartItem);
-		orderRepository.save(pendingOrder);
-		
-		OrderDTO orderDTO=new OrderDTO();
-		orderDTO.setId(pendingOrder.getId());
-		orderDTO.setOrderDescription(pendingOrder.getDescription());
-		orderDTO.setDate(pendingOrder.getDate());
-		orderDTO.setAmount(pendingOrder.getPrice());
-		orderDTO.setAddress(pendingOrder.getAddress());
-		orderDTO.setOrderStatus(pendingOrder.getOrderStatus());
-		orderDTO.setPaymentType(pendingOrder.getPaymentType());
-		orderDTO.setUsername(pendingOrder.getUser().getName());
-
-		List<CartDTO> cartDTOList=pendingOrder.getCartItems().stream().map(cartMapper::toDTO).collect(Collectors.toList());
-		orderDTO.setCartDTO(cartDTOList);
-		return orderDTO;
+	return adjustCartLine(userId, bookId, -1);
+	}
+	@Override
+	public OrderDTO addPlusBook(Long userId, Long bookId) {
+		return adjustCartLine(userId, bookId, 1);
 	}
-	return null;
 
+	/**
+	 * Changes the quantity of one cart line with two in-place updates (line, then order
+	 * total) under the order's row lock and returns the resulting cart. A decrement that would empty the line
+	 * leaves the cart unchanged.
+	 */
+	private OrderDTO adjustCartLine(Long userId, Long bookId, long delta) {
+		CartOperation operation=delta>0 ? CartOperation.INCREMENT : CartOperation.DECREMENT;
+		Order pendingOrder=orderRepository.findForUpdateByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
+		if(pendingOrder==null) {
+			metrics.cartUpdated(operation, Outcome.FAILURE);
+			return null;
+		}
+		Long pendingOrderId=pendingOrder.getId();
+		if(cartItemsRepository.adjustQuantity(pendingOrderId, userId, bookId, delta)==1) {
+			orderRepository.addBookToPrice(pendingOrderId, bookId, delta);
+		}
+		cartSummaryService.refresh(userId, pendingOrderId);
+		metrics.cartUpdated(operation, Outcome.SUCCESS);
+		return orderRepository.findWithCartItemsById(pendingOrderId).map(orderMapper::toDTO).orElse(null);
 	}
+	
+	/**
+	 * Applies all operations in one transaction: the order is locked once, every referenced
+	 * book is loaded with a single IN query and the changed lines are flushed together.
+	 * Deltas for the same book are summed; a line whose quantity reaches zero is removed.
+	 */
 	@Override
-	public OrderDTO addPlusBook(Long userId, Long bookId) {
-		Order pendingOrder=orderRepository.findByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
-		Optional<Book> optionalBook=bookRepository.findById(bookId);
-		Optional<CartItems> optionalCartItems=cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, pendingOrder.getId());
-		
-		if(optionalCartItems.isPresent() && optionalBook.isPresent()) {
-			CartItems cartItem=optionalCartItems.get();
-			cartItem.setQuantity(cartItem.getQuantity()+1);
-			cartItem.setPrice(optionalCartItems.get().getPrice() + optionalBook.get().getPrice());
-			pendingOrder.setPrice(pendingOrder.getPrice() + optionalBook.get().getPrice());
-			
-			cartItemsRepository.save(cartItem);
-			orderRepository.save(pendingOrder);
-			
-			OrderDTO orderDTO=new OrderDTO();
-			orderDTO.setId(pendingOrder.getId());
-			orderDTO.setOrderDescription(null);
-			orderDTO.setDate(pendingOrder.getDate());
-			orderDTO.setAmount(pendingOrder.getPrice());
-			orderDTO.setAddress(pendingOrder.getAddress());
-			orderDTO.setOrderStatus(pendingOrder.getOrderStatus());
-			orderDTO.setPaymentType(pendingOrder.getPaymentType());
-			orderDTO.setUsername(pendingOrder.getUser().getName());
-
-			List<CartDTO> cartDTOList=pendingOrder.getCartItems().stream().map(cartMapper::toDTO).collect(Collectors.toList());
-			orderDTO.setCartDTO(cartDTOList);
-			return orderDTO;
+	public OrderDTO applyCartOperations(Long userId, List<CartOperationDTO> operations) {
+		Map<Long, Long> deltas=new LinkedHashMap<>();
+		for(CartOperationDTO operation:operations) {
+			deltas.merge(operation.getBookId(), operation.getDelta(), Long::sum);
 		}
-		return null;
+
+		Order pendingOrder=orderRepository.findForUpdateByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
+		if(pendingOrder==null) {
+			User user=userRepository.findById(userId)
+					.orElseThrow(() -> new ResourceNotFoundException("User not found"));
+			pendingOrder=new Order();
+			pendingOrder.setUser(user);
+			pendingOrder.setOrderStatus(OrderStatus.PENDING);
+			pendingOrder.setPrice(0L);
+			pendingOrder.setDate(new Date());
+			pendingOrder=orderRepository.save(pendingOrder);
+		}
+
+		Map<Long, CartItems> lines=new HashMap<>();
+		for(CartItems cartItem:pendingOrder.getCartItems()) {
+			lines.put(cartItem.getBook().getId(), cartItem);
+		}
+		// Books already in the cart are loaded too, so mapping the result needs no further queries
+		Set<Long> bookIds=new HashSet<>(deltas.keySet());
+		bookIds.addAll(lines.keySet());
+		Map<Long, Book> books=bookRepository.findAllById(bookIds).stream()
+				.collect(Collectors.toMap(Book::getId, Function.identity()));
+
+		long total=pendingOrder.getPrice();
+		for(Map.Entry<Long, Long> entry:deltas.entrySet()) {
+			Book book=books.get(entry.getKey());
+			if(book==null) {
+				metrics.cartUpdated(CartOperation.BATCH, Outcome.FAILURE);
+				throw new ResourceNotFoundException("Book not found: " + entry.getKey());
+			}
+			CartItems line=lines.get(book.getId());
+			long current=line==null ? 0 : line.getQuantity();
+			long quantity=current + entry.getValue();
+
+			if(quantity<=0) {
+				if(line!=null) {
+					total-=line.getPrice();
+					pendingOrder.getCartItems().removeIf(cartItem -> cartItem == line);
+				}
+			} else if(line==null) {
+				CartItems cartItem=new CartItems();
+				cartItem.setBook(book);
+				cartItem.setUser(pendingOrder.getUser());
+				cartItem.setOrder(pendingOrder);
+				cartItem.setQuantity(quantity);
+				cartItem.setPrice(quantity * book.getPrice());
+				pendingOrder.getCartItems().add(cartItemsRepository.save(cartItem));
+				total+=cartItem.getPrice();
+			} else {
+				long change=entry.getValue() * book.getPrice();
+				line.setQuantity(quantity);
+				line.setPrice(line.getPrice() + change);
+				total+=change;
+			}
+		}
+		pendingOrder.setPrice(total);
+		cartSummaryService.refresh(userId, pendingOrder.getId());
+		metrics.cartUpdated(CartOperation.BATCH, Outcome.SUCCESS);
+		return orderMapper.toDTO(pendingOrder);
 	}
 	
+	/**
+	 * Submits the pending order, or an empty one if there is none. The order row is locked like
+	 * in every cart writer, so the total written back includes all committed cart changes. The
+	 * confirmation is built from the order's columns and one projection query for its lines.
+	 */
 	@Override
-	public OrderDTO placeOrder(PlaceOrderDTO placeOrderDTO) {
-		Order existingOrder=orderRepository.findByUserIdAndOrderStatus(placeOrderDTO.getUserId(), OrderStatus.PENDING);
+	public OrderConfirmationDTO placeOrder(PlaceOrderDTO placeOrderDTO) {
+		Order existingOrder=orderRepository.findForUpdateByUserIdAndOrderStatus(placeOrderDTO.getUserId(), OrderStatus.PENDING);
 		Optional<User> optionalUser=userRepository.findById(placeOrderDTO.getUserId());
 		
 		if(optionalUser.isPresent())
@@ -241,8 +312,8 @@ public OrderDTO addMinusBook(Long userId,Long bookId) {
 				existingOrder.setDate(new Date());
 				existingOrder.setPaymentType(placeOrderDTO.getPayment());
 				existingOrder.setDescription(placeOrderDTO.getOrderDescription());
-				existingOrder.setPrice(existingOrder.getPrice());
 				orderRepository.save(existingOrder);
+				cartSummaryService.evictOrder(existingOrder.getId());
 			}
 			else {
 				existingOrder=new Order();
@@ -256,31 +327,61 @@ public OrderDTO addMinusBook(Long userId,Long bookId) {
 				orderRepository.save(existingOrder);
 			}
 
-			OrderDTO orderDTO=orderMapper.toDTO(existingOrder);
-			orderDTO.setOrder(existingOrder);
-			return orderDTO;
+			metrics.orderPlaced();
+			return orderMapper.toConfirmationDTO(existingOrder, cartItemsRepository.findConfirmationLines(existingOrder.getId()));
 		}
 		return null;
 	}
 
+	/** Hot orders first, then the newest archived ones up to {@link OrderArchiveService#MAX_UNPAGED_ORDERS} */
 	@Override
 	@Transactional(readOnly = true)
 	public List<OrderDTO> getOrdersByUserId(Long userId){
-		return orderRepository.findAllByUserIdAndOrderStatus(userId, OrderStatus.SUBMITTED).stream().map(orderMapper::toDTO).collect(Collectors.toList());
+		List<OrderDTO> orders=orderRepository.findAllByUserIdAndOrderStatus(userId, OrderStatus.SUBMITTED).stream().map(orderMapper::toDTO).collect(Collectors.toList());
+		return orderArchiveService.withArchivedOrders(userId, orders);
+	}
+
+	/**
+	 * Newest first, continuing into the archive: one summary query on each table per page,
+	 * whatever the number of lines in the orders.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public OrderHistoryPageDTO getOrderHistory(Long userId, String cursor, Integer size) {
+		int pageSize = CursorUtil.clampPageSize(size);
+		long beforeId = cursor == null || cursor.isBlank() ? Long.MAX_VALUE : CursorUtil.decode(cursor);
+		List<OrderSummaryDTO> hotRows = orderRepository.findSummaryPage(userId, OrderStatus.SUBMITTED, beforeId,
+				Limit.of(pageSize + 1));
+		List<OrderSummaryDTO> rows = orderArchiveService.withArchivedSummaries(userId, hotRows, beforeId, pageSize + 1);
+		return orderMapper.toHistoryPageDTO(rows, pageSize);
+	}
+
+	/** The lines of up to a page of the user's orders in one query per table */
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, List<OrderItemDTO>> getOrderItems(Long userId, List<Long> orderIds) {
+		Set<Long> ids = new LinkedHashSet<>(orderIds);
+		if (ids.isEmpty() || ids.size() > CursorUtil.MAX_PAGE_SIZE) {
+			throw new IllegalArgumentException("Between 1 and " + CursorUtil.MAX_PAGE_SIZE + " order ids are required");
+		}
+		return orderArchiveService.withArchivedItems(userId, ids, cartItemsRepository.findOrderItems(userId, ids));
 	}
 	
 	@Override
 	public void removeBookFromCart(Long userId, Long bookId) {
-	    Order pendingOrder = orderRepository.findByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
+	    Order pendingOrder = orderRepository.findForUpdateByUserIdAndOrderStatus(userId, OrderStatus.PENDING);
 	    if (pendingOrder != null) {
-	        Optional<CartItems> optionalCartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, pendingOrder.getId());
+	        Long pendingOrderId = pendingOrder.getId();
+	        Optional<CartItems> optionalCartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, pendingOrderId);
 	        if (optionalCartItem.isPresent()) {
 	            CartItems cartItem = optionalCartItem.get();
-	            pendingOrder.setPrice(pendingOrder.getPrice() - cartItem.getPrice());
 	            cartItemsRepository.delete(cartItem);
-	            orderRepository.save(pendingOrder);
+	            orderRepository.addToPrice(pendingOrderId, -cartItem.getPrice());
 	        } 
+	        cartSummaryService.refresh(userId, pendingOrderId);
+	        metrics.cartUpdated(CartOperation.REMOVE, Outcome.SUCCESS);
 	    } else {
+	        metrics.cartUpdated(CartOperation.REMOVE, Outcome.FAILURE);
 	        throw new IllegalArgumentException("No pending order found for the user");
 	    }
 	}
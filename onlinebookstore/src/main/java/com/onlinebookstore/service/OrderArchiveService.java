@@ -0,0 +1,52 @@
+package com.onlinebookstore.service;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
+import com.onlinebookstore.dto.OrderSummaryDTO;
+import com.onlinebookstore.util.CursorUtil;
+
+/**
+ * Submitted orders moved out of the hot {@code orders} and {@code cartItems} tables once they
+ * are old, and the read side that lists them after the hot ones.
+ */
+public interface OrderArchiveService {
+
+	/** Size up to which the unpaged order lists are topped up from the archive */
+	int MAX_UNPAGED_ORDERS = CursorUtil.MAX_PAGE_SIZE;
+
+	/**
+	 * Moves up to {@code batchSize} submitted orders dated before {@code submittedBefore}, with
+	 * their cart lines, in one transaction; returns the number of orders moved.
+	 */
+	int archiveBatch(Date submittedBefore, int batchSize);
+
+	/**
+	 * The user's hot orders followed by their newest archived ones, up to {@link #MAX_UNPAGED_ORDERS}
+	 * in all; an order is listed once. The paged history reaches every archived order.
+	 */
+	List<OrderDTO> withArchivedOrders(Long userId, List<OrderDTO> hotOrders);
+
+	/**
+	 * All hot submitted orders followed by the newest archived ones, up to {@link #MAX_UNPAGED_ORDERS}
+	 * in all; an order is listed once.
+	 */
+	List<OrderDTO> withArchivedOrders(List<OrderDTO> hotOrders);
+
+	/**
+	 * Merges one page of the user's hot order summaries, newest first, with the archived ones
+	 * below {@code beforeId}; returns at most {@code limit} summaries, newest first.
+	 */
+	List<OrderSummaryDTO> withArchivedSummaries(Long userId, List<OrderSummaryDTO> hotSummaries, long beforeId,
+			int limit);
+
+	/**
+	 * The lines of each requested order, keyed by order id in request order: the hot lines, and
+	 * the archived ones for orders that have none in the hot table.
+	 */
+	Map<Long, List<OrderItemDTO>> withArchivedItems(Long userId, Collection<Long> orderIds, List<OrderItemDTO> hotItems);
+}
@@ -0,0 +1,141 @@
+package com.onlinebookstore.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
+import com.onlinebookstore.dto.OrderSummaryDTO;
+import com.onlinebookstore.entity.ArchivedOrder;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.ArchivedCartItemRepository;
+import com.onlinebookstore.repository.ArchivedOrderRepository;
+import com.onlinebookstore.repository.CartItemsRepository;
+import com.onlinebookstore.repository.OrderRepository;
+
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+	private final OrderRepository orderRepository;
+	private final CartItemsRepository cartItemsRepository;
+	private final ArchivedOrderRepository archivedOrderRepository;
+	private final ArchivedCartItemRepository archivedCartItemRepository;
+	private final OrderMapper orderMapper;
+	private final BookstoreMetrics metrics;
+
+	/**
+	 * Four bulk statements per batch, copy then delete, so the hot tables never lose an order
+	 * the archive does not have. Pending carts are never archived.
+	 */
+	@Override
+	public int archiveBatch(Date submittedBefore, int batchSize) {
+		List<Long> orderIds = orderRepository.findIdsDatedBefore(OrderStatus.SUBMITTED, submittedBefore,
+				Limit.of(batchSize));
+		if (orderIds.isEmpty()) {
+			return 0;
+		}
+		archivedOrderRepository.copyOrders(orderIds);
+		archivedOrderRepository.copyCartItems(orderIds);
+		cartItemsRepository.deleteByOrderIdIn(orderIds);
+		orderRepository.deleteByIdIn(orderIds);
+		metrics.ordersArchived(orderIds.size());
+		return orderIds.size();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDTO> withArchivedOrders(Long userId, List<OrderDTO> hotOrders) {
+		int remaining = MAX_UNPAGED_ORDERS - hotOrders.size();
+		if (remaining <= 0) {
+			return hotOrders;
+		}
+		return append(hotOrders, archivedOrderRepository.findNewestIds(userId, OrderStatus.SUBMITTED,
+				Limit.of(remaining)));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderDTO> withArchivedOrders(List<OrderDTO> hotOrders) {
+		int remaining = MAX_UNPAGED_ORDERS - hotOrders.size();
+		if (remaining <= 0) {
+			return hotOrders;
+		}
+		return append(hotOrders, archivedOrderRepository.findNewestIds(OrderStatus.SUBMITTED, Limit.of(remaining)));
+	}
+
+	/**
+	 * Both tables keep their ids, so the two id-descending pages merge into one and a single
+	 * id cursor continues both. Each source is read with the full {@code limit}, since the page
+	 * may come entirely from either.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public List<OrderSummaryDTO> withArchivedSummaries(Long userId, List<OrderSummaryDTO> hotSummaries, long beforeId,
+			int limit) {
+		List<OrderSummaryDTO> archivedSummaries = archivedOrderRepository.findSummaryPage(userId, OrderStatus.SUBMITTED,
+				beforeId, Limit.of(limit));
+		List<OrderSummaryDTO> summaries = new ArrayList<>(limit);
+		int hot = 0;
+		int archived = 0;
+		while (summaries.size() < limit && (hot < hotSummaries.size() || archived < archivedSummaries.size())) {
+			if (archived == archivedSummaries.size() || (hot < hotSummaries.size()
+					&& hotSummaries.get(hot).id() >= archivedSummaries.get(archived).id())) {
+				OrderSummaryDTO summary = hotSummaries.get(hot++);
+				if (archived < archivedSummaries.size() && archivedSummaries.get(archived).id().equals(summary.id())) {
+					archived++;
+				}
+				summaries.add(summary);
+			} else {
+				summaries.add(archivedSummaries.get(archived++));
+			}
+		}
+		return summaries;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Map<Long, List<OrderItemDTO>> withArchivedItems(Long userId, Collection<Long> orderIds,
+			List<OrderItemDTO> hotItems) {
+		Map<Long, List<OrderItemDTO>> items = new LinkedHashMap<>();
+		orderIds.forEach(orderId -> items.put(orderId, new ArrayList<>()));
+		hotItems.forEach(item -> items.get(item.orderId()).add(item));
+
+		List<Long> notHot = items.entrySet().stream().filter(entry -> entry.getValue().isEmpty())
+				.map(Map.Entry::getKey).collect(Collectors.toList());
+		if (!notHot.isEmpty()) {
+			archivedCartItemRepository.findOrderItems(userId, notHot).forEach(item -> items.get(item.orderId()).add(item));
+		}
+		return items;
+	}
+
+	// An order archived between the hot read and this one shows up in both; the hot copy wins
+	private List<OrderDTO> append(List<OrderDTO> hotOrders, List<Long> archivedIds) {
+		Set<Long> hotIds = hotOrders.stream().map(OrderDTO::getId).collect(Collectors.toSet());
+		List<Long> ids = archivedIds.stream().filter(id -> !hotIds.contains(id)).collect(Collectors.toList());
+		if (ids.isEmpty()) {
+			return hotOrders;
+		}
+		List<OrderDTO> orders = new ArrayList<>(hotOrders);
+		for (ArchivedOrder archivedOrder : archivedOrderRepository.findAllByIdInOrderByIdDesc(ids)) {
+			orders.add(orderMapper.toDTO(archivedOrder));
+		}
+		return orders;
+	}
+}
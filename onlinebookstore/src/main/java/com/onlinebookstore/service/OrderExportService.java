@@ -0,0 +1,11 @@
+package com.onlinebookstore.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.enums.OrderStatus;
+
+public interface OrderExportService {
+	void exportOrders(DataFormat format, OrderStatus status, OutputStream out) throws IOException;
+}
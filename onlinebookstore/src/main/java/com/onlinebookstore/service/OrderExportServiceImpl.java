@@ -0,0 +1,176 @@
+package com.onlinebookstore.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.OrderExportRow;
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.OrderRepository;
+
+import io.micrometer.core.annotation.Timed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes orders straight from a forward-only result stream to the response. At most one
+ * order is held in memory at a time, and output is flushed every {@value #FLUSH_EVERY_ROWS}
+ * rows so the client starts receiving data immediately.
+ */
+@Service
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportService {
+
+	static final int FLUSH_EVERY_ROWS = 1000;
+
+	private static final String CSV_HEADER = "order_id,date,status,amount,address,payment_type,description,"
+			+ "user_id,username,cart_item_id,book_id,book_title,quantity,price";
+
+	private final OrderRepository orderRepository;
+	private final ObjectMapper objectMapper;
+
+	@Override
+	@Transactional(readOnly = true)
+	public void exportOrders(DataFormat format, OrderStatus status, OutputStream out) throws IOException {
+		OrderStatus orderStatus = status == null ? OrderStatus.SUBMITTED : status;
+		long rows;
+		try (Stream<OrderExportRow> stream = orderRepository.streamExportRows(orderStatus)) {
+			rows = format == DataFormat.CSV ? writeCsv(stream.iterator(), out) : writeNdjson(stream.iterator(), out);
+		}
+		log.info("Exported {} {} order rows as {}", rows, orderStatus, format);
+	}
+
+	/** One object per order; rows arrive grouped by order, so each order is closed when the next begins */
+	private long writeNdjson(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+		long count = 0;
+		try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+			json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			// Lines are terminated explicitly instead of separated by Jackson's default space
+			json.setRootValueSeparator(null);
+			Long currentOrderId = null;
+			while (rows.hasNext()) {
+				OrderExportRow row = rows.next();
+				if (!row.getOrderId().equals(currentOrderId)) {
+					if (currentOrderId != null) {
+						endOrder(json);
+					}
+					startOrder(json, row);
+					currentOrderId = row.getOrderId();
+				}
+				if (row.getCartItemId() != null) {
+					json.writeStartObject();
+					writeNumber(json, "bookId", row.getBookId());
+					json.writeStringField("bookTitle", row.getBookTitle());
+					writeNumber(json, "quantity", row.getQuantity());
+					writeNumber(json, "price", row.getPrice());
+					json.writeEndObject();
+				}
+				if (++count % FLUSH_EVERY_ROWS == 0) {
+					json.flush();
+				}
+			}
+			if (currentOrderId != null) {
+				endOrder(json);
+			}
+		}
+		return count;
+	}
+
+	private void startOrder(JsonGenerator json, OrderExportRow row) throws IOException {
+		json.writeStartObject();
+		writeNumber(json, "id", row.getOrderId());
+		json.writeStringField("date", row.getDate() == null ? null : row.getDate().toInstant().toString());
+		json.writeStringField("orderStatus", row.getOrderStatus().name());
+		writeNumber(json, "amount", row.getAmount());
+		json.writeStringField("address", row.getAddress());
+		json.writeStringField("paymentType", row.getPaymentType());
+		json.writeStringField("orderDescription", row.getDescription());
+		writeNumber(json, "userId", row.getUserId());
+		json.writeStringField("username", row.getUsername());
+		json.writeArrayFieldStart("items");
+	}
+
+	private static void writeNumber(JsonGenerator json, String field, Long value) throws IOException {
+		if (value == null) {
+			json.writeNullField(field);
+		} else {
+			json.writeNumberField(field, value);
+		}
+	}
+
+	private void endOrder(JsonGenerator json) throws IOException {
+		json.writeEndArray();
+		json.writeEndObject();
+		json.writeRaw('\n');
+	}
+
+	private long writeCsv(Iterator<OrderExportRow> rows, OutputStream out) throws IOException {
+		long count = 0;
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		writer.write(CSV_HEADER);
+		writer.write('\n');
+		while (rows.hasNext()) {
+			OrderExportRow row = rows.next();
+			writer.write(csv(row.getOrderId()));
+			writer.write(',');
+			writer.write(csv(row.getDate() == null ? null : row.getDate().toInstant()));
+			writer.write(',');
+			writer.write(csv(row.getOrderStatus()));
+			writer.write(',');
+			writer.write(csv(row.getAmount()));
+			writer.write(',');
+			writer.write(csv(row.getAddress()));
+			writer.write(',');
+			writer.write(csv(row.getPaymentType()));
+			writer.write(',');
+			writer.write(csv(row.getDescription()));
+			writer.write(',');
+			writer.write(csv(row.getUserId()));
+			writer.write(',');
+			writer.write(csv(row.getUsername()));
+			writer.write(',');
+			writer.write(csv(row.getCartItemId()));
+			writer.write(',');
+			writer.write(csv(row.getBookId()));
+			writer.write(',');
+			writer.write(csv(row.getBookTitle()));
+			writer.write(',');
+			writer.write(csv(row.getQuantity()));
+			writer.write(',');
+			writer.write(csv(row.getPrice()));
+			writer.write('\n');
+			if (++count % FLUSH_EVERY_ROWS == 0) {
+				writer.flush();
+			}
+		}
+		writer.flush();
+		return count;
+	}
+
+	/** RFC 4180 quoting; nulls become empty fields */
+	static String csv(Object value) {
+		if (value == null) {
+			return "";
+		}
+		String text = value.toString();
+		if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+			return text;
+		}
+		return '"' + text.replace("\"", "\"\"") + '"';
+	}
+}
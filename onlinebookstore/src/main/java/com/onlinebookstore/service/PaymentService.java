@@ -1,8 +1,14 @@
 package com.onlinebookstore.service;
 
+import java.util.concurrent.CompletableFuture;
+
 import com.onlinebookstore.dto.PaymentDTO;
 import com.onlinebookstore.dto.PaymentResponseDTO;
 
+/**
+ * Payment operations complete asynchronously so no request thread waits on the payment gateway.
+ * Gateway failures complete normally with an unsuccessful response rather than exceptionally.
+ */
 public interface PaymentService {
     
     /**
@@ -10,7 +16,7 @@ public interface PaymentService {
      * @param paymentDTO Payment details including amount and currency
      * @return PaymentResponseDTO containing client secret for frontend
      */
-    PaymentResponseDTO createPaymentIntent(PaymentDTO paymentDTO);
+    CompletableFuture<PaymentResponseDTO> createPaymentIntent(PaymentDTO paymentDTO);
     
     /**
      * Confirms a payment and updates order status
@@ -18,13 +24,13 @@ public interface PaymentService {
      * @param orderId The order ID to update
      * @return PaymentResponseDTO with payment status
      */
-    PaymentResponseDTO confirmPayment(String paymentIntentId, Long orderId);
+    CompletableFuture<PaymentResponseDTO> confirmPayment(String paymentIntentId, Long orderId);
     
     /**
      * Retrieves the status of a payment
      * @param paymentIntentId The Stripe PaymentIntent ID
      * @return PaymentResponseDTO with current payment status
      */
-    PaymentResponseDTO getPaymentStatus(String paymentIntentId);
+    CompletableFuture<PaymentResponseDTO> getPaymentStatus(String paymentIntentId);
 }
 
@@ -1,49 +1,53 @@
 package com.onlinebookstore.service;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.onlinebookstore.cache.PaymentStateCache;
 import com.onlinebookstore.dto.PaymentDTO;
 import com.onlinebookstore.dto.PaymentResponseDTO;
 import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.exception.PaymentGatewayException;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.metrics.BookstoreMetrics.Outcome;
+import com.onlinebookstore.payment.PaymentGateway;
+import com.onlinebookstore.payment.PaymentIntentRequest;
+import com.onlinebookstore.payment.ResilientPaymentGateway;
 import com.onlinebookstore.repository.OrderRepository;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.param.PaymentIntentCreateParams;
 
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.annotation.Timed;
+
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Service
+@RequiredArgsConstructor
+@Timed(BookstoreMetrics.SERVICE_TIMER)
 @Slf4j
 public class PaymentServiceImpl implements PaymentService {
 
-    @Value("${stripe.api.key}")
-    private String stripeApiKey;
+    private final PaymentGateway paymentGateway;
 
-    @Autowired
-    private OrderRepository orderRepository;
+    private final PaymentStateCache paymentStateCache;
 
-    @PostConstruct
-    public void init() {
-        Stripe.apiKey = stripeApiKey;
-    }
+    private final OrderRepository orderRepository;
+
+    private final CartSummaryService cartSummaryService;
+
+    private final BookstoreMetrics metrics;
 
     @Override
-    public PaymentResponseDTO createPaymentIntent(PaymentDTO paymentDTO) {
+    public CompletableFuture<PaymentResponseDTO> createPaymentIntent(PaymentDTO paymentDTO) {
+        PaymentIntentRequest request;
         try {
             // Validate amount
             if (paymentDTO.getAmount() == null || paymentDTO.getAmount() <= 0) {
-                return PaymentResponseDTO.builder()
-                        .success(false)
-                        .message("Invalid payment amount")
-                        .build();
+                metrics.paymentIntentCreated(Outcome.FAILURE);
+                return CompletableFuture.completedFuture(failure("Invalid payment amount"));
             }
 
             // Save address and description to the order before creating payment intent
@@ -64,112 +68,130 @@ public class PaymentServiceImpl implements PaymentService {
             // Set default currency if not provided
             String currency = paymentDTO.getCurrency() != null ? paymentDTO.getCurrency() : "inr";
 
-            // Create PaymentIntent with Stripe
-            PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                    .setAmount(paymentDTO.getAmount() * 100) // Convert to smallest currency unit (paise for INR)
-                    .setCurrency(currency)
-                    .setDescription(paymentDTO.getDescription() != null ? 
-                            paymentDTO.getDescription() : "Online Bookstore Order Payment")
-                    .putMetadata("userId", String.valueOf(paymentDTO.getUserId()))
-                    .putMetadata("orderId", String.valueOf(paymentDTO.getOrderId()))
-                    .setAutomaticPaymentMethods(
-                            PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
-                                    .setEnabled(true)
-                                    .build()
-                    )
-                    .build();
-
-            PaymentIntent paymentIntent = PaymentIntent.create(params);
-
-            log.info("PaymentIntent created successfully: {}", paymentIntent.getId());
-
-            return PaymentResponseDTO.builder()
-                    .clientSecret(paymentIntent.getClientSecret())
-                    .paymentIntentId(paymentIntent.getId())
-                    .status(paymentIntent.getStatus())
-                    .amount(paymentDTO.getAmount())
+            request = PaymentIntentRequest.builder()
+                    .amount(paymentDTO.getAmount() * 100) // Convert to smallest currency unit (paise for INR)
                     .currency(currency)
-                    .success(true)
-                    .message("Payment intent created successfully")
-                    .build();
-
-        } catch (StripeException e) {
-            log.error("Stripe error creating payment intent: {}", e.getMessage());
-            return PaymentResponseDTO.builder()
-                    .success(false)
-                    .message("Payment processing error: " + e.getMessage())
+                    .description(paymentDTO.getDescription() != null ?
+                            paymentDTO.getDescription() : "Online Bookstore Order Payment")
+                    .userId(paymentDTO.getUserId())
+                    .orderId(paymentDTO.getOrderId())
+                    // One key per checkout attempt, so gateway retries cannot create a second intent
+                    .idempotencyKey(UUID.randomUUID().toString())
                     .build();
         } catch (Exception e) {
             log.error("Error creating payment intent: {}", e.getMessage());
-            return PaymentResponseDTO.builder()
-                    .success(false)
-                    .message("An unexpected error occurred")
-                    .build();
+            metrics.paymentIntentCreated(Outcome.FAILURE);
+            return CompletableFuture.completedFuture(failure("An unexpected error occurred"));
         }
+
+        return paymentGateway.createPaymentIntent(request)
+                .thenApply(paymentIntent -> {
+                    log.info("PaymentIntent created successfully: {}", paymentIntent.getId());
+                    paymentStateCache.put(paymentIntent);
+                    metrics.paymentIntentCreated(Outcome.SUCCESS);
+                    return PaymentResponseDTO.builder()
+                            .clientSecret(paymentIntent.getClientSecret())
+                            .paymentIntentId(paymentIntent.getId())
+                            .status(paymentIntent.getStatus())
+                            .amount(paymentDTO.getAmount())
+                            .currency(request.getCurrency())
+                            .success(true)
+                            .message("Payment intent created successfully")
+                            .build();
+                })
+                .exceptionally(e -> {
+                    log.error("Payment gateway error creating payment intent: {}", describe(e));
+                    metrics.paymentIntentCreated(Outcome.FAILURE);
+                    return failure("Payment processing error: " + describe(e));
+                });
     }
 
+    /**
+     * Usually the payment webhook has already submitted the order, and no gateway call is made.
+     * Otherwise the intent is checked with the gateway, sharing any check already in flight;
+     * either way the order is submitted once.
+     */
     @Override
-    public PaymentResponseDTO confirmPayment(String paymentIntentId, Long orderId) {
-        try {
-            // Retrieve the PaymentIntent from Stripe
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-
-            if ("succeeded".equals(paymentIntent.getStatus())) {
-                // Update order status to SUBMITTED
-                Order order = orderRepository.findById(orderId).orElse(null);
-                if (order != null) {
-                    order.setOrderStatus(OrderStatus.SUBMITTED);
-                    order.setPaymentType("STRIPE");
-                    order.setDate(new java.util.Date()); // Set the order date to current date
-                    orderRepository.save(order);
-                    log.info("Order {} updated to SUBMITTED after successful payment", orderId);
-                }
+    public CompletableFuture<PaymentResponseDTO> confirmPayment(String paymentIntentId, Long orderId) {
+        Order existingOrder = orderRepository.findById(orderId).orElse(null);
+        if (existingOrder != null && existingOrder.getOrderStatus() == OrderStatus.SUBMITTED) {
+            metrics.paymentConfirmed(Outcome.SUCCESS);
+            return CompletableFuture.completedFuture(PaymentResponseDTO.builder()
+                    .paymentIntentId(paymentIntentId)
+                    .status("succeeded")
+                    .success(true)
+                    .message("Payment completed successfully")
+                    .build());
+        }
+        return paymentStateCache.refresh(paymentIntentId)
+                .thenApply(paymentIntent -> {
+                    if ("succeeded".equals(paymentIntent.getStatus())) {
+                        // Update order status to SUBMITTED, stamped with the current date
+                        if (orderRepository.submitPendingOrder(orderId, "STRIPE", new java.util.Date()) > 0) {
+                            log.info("Order {} updated to SUBMITTED after successful payment", orderId);
+                            cartSummaryService.evictOrder(orderId);
+                            metrics.orderPaid();
+                        }
+                        metrics.paymentConfirmed(Outcome.SUCCESS);
+
+                        return PaymentResponseDTO.builder()
+                                .paymentIntentId(paymentIntentId)
+                                .status(paymentIntent.getStatus())
+                                .success(true)
+                                .message("Payment completed successfully")
+                                .build();
+                    } else {
+                        metrics.paymentConfirmed(Outcome.FAILURE);
+                        return PaymentResponseDTO.builder()
+                                .paymentIntentId(paymentIntentId)
+                                .status(paymentIntent.getStatus())
+                                .success(false)
+                                .message("Payment not completed. Status: " + paymentIntent.getStatus())
+                                .build();
+                    }
+                })
+                .exceptionally(e -> {
+                    log.error("Error confirming payment: {}", describe(e));
+                    metrics.paymentConfirmed(Outcome.FAILURE);
+                    return failure("Error confirming payment: " + describe(e));
+                });
+    }
 
-                return PaymentResponseDTO.builder()
+    /**
+     * Answered from the payment state cache; the gateway is only asked on a miss or a periodic refresh
+     */
+    @Override
+    public CompletableFuture<PaymentResponseDTO> getPaymentStatus(String paymentIntentId) {
+        return paymentStateCache.get(paymentIntentId)
+                .thenApply(paymentIntent -> PaymentResponseDTO.builder()
                         .paymentIntentId(paymentIntentId)
                         .status(paymentIntent.getStatus())
+                        .amount(paymentIntent.getAmount() == null ? null : paymentIntent.getAmount() / 100) // Convert back from paise
+                        .currency(paymentIntent.getCurrency())
                         .success(true)
-                        .message("Payment completed successfully")
-                        .build();
-            } else {
-                return PaymentResponseDTO.builder()
-                        .paymentIntentId(paymentIntentId)
-                        .status(paymentIntent.getStatus())
-                        .success(false)
-                        .message("Payment not completed. Status: " + paymentIntent.getStatus())
-                        .build();
-            }
-
-        } catch (StripeException e) {
-            log.error("Stripe error confirming payment: {}", e.getMessage());
-            return PaymentResponseDTO.builder()
-                    .success(false)
-                    .message("Error confirming payment: " + e.getMessage())
-                    .build();
-        }
+                        .message("Payment status retrieved successfully")
+                        .build())
+                .exceptionally(e -> {
+                    log.error("Error getting payment status: {}", describe(e));
+                    return failure("Error retrieving payment status: " + describe(e));
+                });
     }
 
-    @Override
-    public PaymentResponseDTO getPaymentStatus(String paymentIntentId) {
-        try {
-            PaymentIntent paymentIntent = PaymentIntent.retrieve(paymentIntentId);
-
-            return PaymentResponseDTO.builder()
-                    .paymentIntentId(paymentIntentId)
-                    .status(paymentIntent.getStatus())
-                    .amount(paymentIntent.getAmount() / 100) // Convert back from paise
-                    .currency(paymentIntent.getCurrency())
-                    .success(true)
-                    .message("Payment status retrieved successfully")
-                    .build();
+    private static PaymentResponseDTO failure(String message) {
+        return PaymentResponseDTO.builder()
+                .success(false)
+                .message(message)
+                .build();
+    }
 
-        } catch (StripeException e) {
-            log.error("Stripe error getting payment status: {}", e.getMessage());
-            return PaymentResponseDTO.builder()
-                    .success(false)
-                    .message("Error retrieving payment status: " + e.getMessage())
-                    .build();
+    private static String describe(Throwable failure) {
+        Throwable cause = ResilientPaymentGateway.unwrap(failure);
+        if (cause instanceof TimeoutException) {
+            return "payment gateway timed out";
         }
+        if (cause instanceof PaymentGatewayException) {
+            return cause.getMessage();
+        }
+        return "an unexpected error occurred";
     }
 }
-
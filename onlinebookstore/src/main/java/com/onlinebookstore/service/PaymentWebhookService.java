@@ -0,0 +1,15 @@
+package com.onlinebookstore.service;
+
+public interface PaymentWebhookService {
+
+	/**
+	 * Verifies the signature of a Stripe webhook delivery, records the event and hands it to
+	 * the payment event worker.
+	 * @return false when the event had already been received
+	 * @throws IllegalArgumentException for a bad signature or an unreadable payload
+	 */
+	boolean receive(String payload, String signatureHeader);
+
+	/** Applies a recorded event to its order; events already processed are skipped */
+	void process(String eventId);
+}
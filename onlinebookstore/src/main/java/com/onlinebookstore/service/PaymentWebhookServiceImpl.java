@@ -0,0 +1,150 @@
+package com.onlinebookstore.service;
+
+import java.time.Duration;
+import java.util.Date;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.cache.PaymentStateCache;
+import com.onlinebookstore.entity.PaymentEvent;
+import com.onlinebookstore.enums.PaymentEventStatus;
+import com.onlinebookstore.event.PaymentEventReceivedEvent;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.metrics.BookstoreMetrics.WebhookOutcome;
+import com.onlinebookstore.payment.PaymentIntentResult;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.repository.PaymentEventRepository;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+
+import io.micrometer.core.annotation.Timed;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stripe webhook ingestion. The request only verifies and records the event; orders are
+ * updated afterwards by {@link com.onlinebookstore.payment.PaymentEventWorker}. Only
+ * PaymentIntent events are recorded, and the payload is read as a plain JSON tree so
+ * deliveries do not depend on the API version of the Stripe library.
+ */
+@Service
+@Timed(BookstoreMetrics.SERVICE_TIMER)
+@Slf4j
+public class PaymentWebhookServiceImpl implements PaymentWebhookService {
+
+	static final String PAYMENT_INTENT_EVENT_PREFIX = "payment_intent.";
+	static final String PAYMENT_INTENT_SUCCEEDED = "payment_intent.succeeded";
+
+	private final PaymentEventRepository paymentEventRepository;
+	private final OrderRepository orderRepository;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final PaymentStateCache paymentStateCache;
+	private final CartSummaryService cartSummaryService;
+	private final BookstoreMetrics metrics;
+	private final String webhookSecret;
+	private final long toleranceSeconds;
+
+	public PaymentWebhookServiceImpl(PaymentEventRepository paymentEventRepository, OrderRepository orderRepository,
+			ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher, PaymentStateCache paymentStateCache,
+			CartSummaryService cartSummaryService, BookstoreMetrics metrics, @Value("${stripe.webhook.secret}") String webhookSecret,
+			@Value("${stripe.webhook.tolerance:300s}") Duration tolerance) {
+		this.paymentEventRepository = paymentEventRepository;
+		this.orderRepository = orderRepository;
+		this.objectMapper = objectMapper;
+		this.eventPublisher = eventPublisher;
+		this.paymentStateCache = paymentStateCache;
+		this.cartSummaryService = cartSummaryService;
+		this.metrics = metrics;
+		this.webhookSecret = webhookSecret;
+		this.toleranceSeconds = tolerance.toSeconds();
+	}
+
+	@Override
+	public boolean receive(String payload, String signatureHeader) {
+		try {
+			Webhook.Signature.verifyHeader(payload, signatureHeader, webhookSecret, toleranceSeconds);
+		} catch (SignatureVerificationException e) {
+			log.warn("Rejected payment webhook: {}", e.getMessage());
+			metrics.webhookReceived(WebhookOutcome.REJECTED);
+			throw new IllegalArgumentException("Invalid webhook signature");
+		}
+
+		JsonNode event;
+		try {
+			event = objectMapper.readTree(payload);
+		} catch (JsonProcessingException e) {
+			metrics.webhookReceived(WebhookOutcome.REJECTED);
+			throw new IllegalArgumentException("Malformed webhook payload");
+		}
+		String type = event.path("type").asText();
+		if (!type.startsWith(PAYMENT_INTENT_EVENT_PREFIX)) {
+			log.debug("Ignoring webhook event type {}", type);
+			metrics.webhookReceived(WebhookOutcome.IGNORED);
+			return true;
+		}
+		JsonNode intent = event.path("data").path("object");
+		PaymentEvent paymentEvent = new PaymentEvent();
+		paymentEvent.setId(event.path("id").asText());
+		paymentEvent.setType(type);
+		paymentEvent.setPaymentIntentId(intent.path("id").asText());
+		paymentEvent.setIntentStatus(intent.path("status").asText());
+		paymentEvent.setOrderId(orderId(intent.path("metadata").path("orderId")));
+		paymentEvent.setStatus(PaymentEventStatus.RECEIVED);
+		paymentEvent.setReceivedAt(new Date());
+		if (paymentEvent.getId().isEmpty() || paymentEvent.getPaymentIntentId().isEmpty()) {
+			metrics.webhookReceived(WebhookOutcome.REJECTED);
+			throw new IllegalArgumentException("Malformed webhook payload");
+		}
+		paymentStateCache.put(PaymentIntentResult.builder()
+				.id(paymentEvent.getPaymentIntentId())
+				.status(paymentEvent.getIntentStatus())
+				.amount(intent.path("amount").isNumber() ? intent.path("amount").asLong() : null)
+				.currency(intent.path("currency").asText(null))
+				.orderId(paymentEvent.getOrderId())
+				.build());
+
+		try {
+			paymentEventRepository.saveAndFlush(paymentEvent);
+		} catch (DataIntegrityViolationException e) {
+			log.info("Duplicate delivery of payment event {}", paymentEvent.getId());
+			metrics.webhookReceived(WebhookOutcome.DUPLICATE);
+			return false;
+		}
+		eventPublisher.publishEvent(new PaymentEventReceivedEvent(paymentEvent.getId()));
+		metrics.webhookReceived(WebhookOutcome.RECORDED);
+		return true;
+	}
+
+	@Override
+	@Transactional
+	public void process(String eventId) {
+		if (paymentEventRepository.claim(eventId, new Date()) == 0) {
+			return;
+		}
+		PaymentEvent event = paymentEventRepository.findById(eventId).orElseThrow();
+		if (PAYMENT_INTENT_SUCCEEDED.equals(event.getType()) && event.getOrderId() != null) {
+			int submitted = orderRepository.submitPendingOrder(event.getOrderId(), "STRIPE", new Date());
+			log.info("Payment event {} for order {} processed ({} order updated)", eventId, event.getOrderId(), submitted);
+			if (submitted > 0) {
+				cartSummaryService.evictOrder(event.getOrderId());
+				metrics.orderPaid();
+			}
+		}
+	}
+
+	private static Long orderId(JsonNode node) {
+		try {
+			return node.isMissingNode() || node.isNull() ? null : Long.valueOf(node.asText());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -12,8 +12,13 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import com.onlinebookstore.entity.User;
+import com.onlinebookstore.metrics.BookstoreMetrics;
 import com.onlinebookstore.repository.UserRepository;
+
+import io.micrometer.core.annotation.Timed;
+
 @Service
+@Timed(BookstoreMetrics.SERVICE_TIMER)
 public class UserDetailsServiceImpl implements UserDetailsService{
 
 	 @Autowired
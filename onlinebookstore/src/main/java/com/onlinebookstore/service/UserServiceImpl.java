@@ -11,12 +11,15 @@ import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.entity.User;
 import com.onlinebookstore.enums.OrderStatus;
 import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.metrics.BookstoreMetrics;
 import com.onlinebookstore.repository.OrderRepository;
 import com.onlinebookstore.repository.UserRepository;
 
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 
 @Service
+@Timed(BookstoreMetrics.SERVICE_TIMER)
 public class UserServiceImpl implements UserService {
 	@Autowired
 	private UserRepository userRepository;
@@ -0,0 +1,102 @@
+package com.onlinebookstore.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: comma separated, double-quoted fields with {@code ""}
+ * escapes, quoted fields may span lines. Reads one record at a time.
+ */
+public class CsvReader implements Closeable {
+
+	private final Reader reader;
+	private long lineNumber = 1;
+	private long recordLineNumber;
+	private int pushedBack = -2;
+
+	public CsvReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/** @return the fields of the next record, or null at end of input */
+	public List<String> next() throws IOException {
+		int c = read();
+		if (c == -1) {
+			return null;
+		}
+		recordLineNumber = lineNumber;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					throw new IOException("Unterminated quoted field starting on line " + recordLineNumber);
+				}
+				if (c == '"') {
+					int n = read();
+					if (n == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						c = n;
+						continue;
+					}
+				} else {
+					if (c == '\n') {
+						lineNumber++;
+					}
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.length() == 0) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n' || c == -1) {
+				if (c == '\n') {
+					lineNumber++;
+				}
+				fields.add(field.toString());
+				return fields;
+			} else if (c == '\r') {
+				int n = read();
+				if (n != '\n') {
+					unread(n);
+				}
+				lineNumber++;
+				fields.add(field.toString());
+				return fields;
+			} else {
+				field.append((char) c);
+			}
+			c = read();
+		}
+	}
+
+	/** Line on which the record last returned by {@link #next()} started */
+	public long getRecordLineNumber() {
+		return recordLineNumber;
+	}
+
+	private int read() throws IOException {
+		if (pushedBack != -2) {
+			int c = pushedBack;
+			pushedBack = -2;
+			return c;
+		}
+		return reader.read();
+	}
+
+	private void unread(int c) {
+		pushedBack = c;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
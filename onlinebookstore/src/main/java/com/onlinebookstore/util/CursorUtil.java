@@ -0,0 +1,55 @@
+package com.onlinebookstore.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes and decodes the opaque cursors handed out by keyset-paginated endpoints.
+ * A cursor wraps the id of the last row of the previous page, so page N is served
+ * with an index seek ({@code id > ?}) instead of an ever-growing OFFSET scan.
+ */
+public final class CursorUtil {
+
+	public static final int DEFAULT_PAGE_SIZE = 20;
+	public static final int MAX_PAGE_SIZE = 100;
+
+	private static final String PREFIX = "id:";
+
+	private CursorUtil() {
+	}
+
+	public static String encode(Long id) {
+		if (id == null) {
+			return null;
+		}
+		String raw = PREFIX + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @return the id carried by the cursor, or {@code 0} when no cursor was supplied (first page)
+	 * @throws IllegalArgumentException if the cursor was not produced by {@link #encode(Long)}
+	 */
+	public static long decode(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return 0L;
+		}
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			if (!raw.startsWith(PREFIX)) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			return Long.parseLong(raw.substring(PREFIX.length()));
+		} catch (IllegalArgumentException e) {
+			// NumberFormatException is an IllegalArgumentException as well
+			throw new IllegalArgumentException("Invalid cursor", e);
+		}
+	}
+
+	public static int clampPageSize(Integer size) {
+		if (size == null || size <= 0) {
+			return DEFAULT_PAGE_SIZE;
+		}
+		return Math.min(size, MAX_PAGE_SIZE);
+	}
+}
@@ -11,6 +11,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -19,11 +20,18 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
-	@Value("${jwt.secret}")
-	private String SECRET;
+	// Decoded once; the parser is immutable and thread-safe, so every request reuses both
+	private final Key signKey;
+	private final JwtParser jwtParser;
+	private final Long jwtExpiration;
 
-	@Value("${jwt.expiration:3600000}") // Default 1 hour in milliseconds
-	private Long jwtExpiration;
+	public JwtUtil(@Value("${jwt.secret}") String secret,
+			@Value("${jwt.expiration:3600000}") Long jwtExpiration) // Default 1 hour in milliseconds
+	{
+		this.signKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+		this.jwtParser = Jwts.parserBuilder().setSigningKey(signKey).build();
+		this.jwtExpiration = jwtExpiration;
+	}
 
 	public String extractUsername(String token)
 	{
@@ -38,18 +46,25 @@ public class JwtUtil {
 		final Claims claims=extractAllClaims(token);
 		return claimsResolver.apply(claims);
 	}
+	/**
+	 * Verifies the signature and expiry and returns the claims. Throws a
+	 * {@link io.jsonwebtoken.JwtException} for tokens that fail either check.
+	 */
 	public Claims extractAllClaims(String token)
 	{
-		return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+		return jwtParser.parseClaimsJws(token).getBody();
 	}
-	private Boolean isTokenExpired(String token)
+	public Boolean validateToken(String token,UserDetails userDetails)
 	{
-		return extractExpiration(token).before(new Date());
+		return validateToken(extractAllClaims(token), userDetails);
 	}
-	public Boolean validateToken(String token,UserDetails userDetails)
+	/**
+	 * Validates claims that were already parsed for this request, so callers do not
+	 * verify the same token more than once.
+	 */
+	public Boolean validateToken(Claims claims,UserDetails userDetails)
 	{
-		final String username=extractUsername(token);
-		return(username.equals(userDetails.getUsername()) && !isTokenExpired(token)); 
+		return(claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date()));
 	}
 
 	
@@ -66,14 +81,8 @@ public class JwtUtil {
 	        .setSubject(userName)
 	        .setIssuedAt(new Date(System.currentTimeMillis()))
 	        .setExpiration(new Date(System.currentTimeMillis() + jwtExpiration))
-	        .signWith(getSignKey(), SignatureAlgorithm.HS256)
+	        .signWith(signKey, SignatureAlgorithm.HS256)
 	        .compact();
 	}
-	
-	private Key getSignKey()
-	{
-		byte[] keyBytes=Decoders.BASE64.decode(SECRET);
-		return Keys.hmacShaKeyFor(keyBytes);
-	}
 }
 
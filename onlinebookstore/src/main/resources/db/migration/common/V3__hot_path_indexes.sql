@@ -0,0 +1,18 @@
+-- Composite indexes for the hot finders. InnoDB appends the primary key to every secondary
+-- index, so id-only reads (order pages, exports) are answered from the index alone.
+
+-- findByUserIdAndOrderStatus, findForUpdateByUserIdAndOrderStatus, findAllByUserIdAndOrderStatus:
+-- one seek to the user's orders in a status; the row lock taken by the cart writers stays on
+-- that index entry instead of a range of the user_id foreign key index
+CREATE INDEX idx_orders_user_status ON orders (user_id, order_status);
+
+-- findAllByOrderStatus, streamExportRows and findIdPage: orders of a status in id order, with
+-- the date range of an admin page filtered from the index before any row is read
+CREATE INDEX idx_orders_status_id_date ON orders (order_status, id, date);
+
+-- findByUserIdAndBookIdAndOrderId and adjustQuantity: one cart line by its three keys; the
+-- order_id prefix also serves the line projections of a cart or confirmation
+CREATE INDEX idx_cart_items_order_book_user ON cart_items (order_id, book_id, user_id);
+
+-- findFirstByEmail, on every login and signup; also rejects a second account for an email
+CREATE UNIQUE INDEX uk_users_email ON users (email);
@@ -0,0 +1,54 @@
+-- H2 counterpart of mysql/V1__baseline.sql, for the test suite.
+
+CREATE TABLE categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    description CLOB,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    user_role VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE books (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    price INTEGER,
+    image_url VARCHAR(255),
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_books_category FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE CASCADE
+);
+
+CREATE TABLE orders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    description VARCHAR(255),
+    address VARCHAR(255),
+    payment_type VARCHAR(255),
+    date TIMESTAMP(6),
+    price BIGINT,
+    order_status TINYINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE cart_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    price BIGINT NOT NULL,
+    quantity BIGINT,
+    book_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    order_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_book FOREIGN KEY (book_id) REFERENCES books (id) ON DELETE CASCADE,
+    CONSTRAINT fk_cart_items_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_cart_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+);
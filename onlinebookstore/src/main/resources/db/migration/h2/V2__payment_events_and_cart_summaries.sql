@@ -0,0 +1,25 @@
+-- H2 counterpart of mysql/V2__payment_events_and_cart_summaries.sql.
+
+CREATE TABLE IF NOT EXISTS payment_events (
+    id VARCHAR(255) NOT NULL,
+    type VARCHAR(255),
+    payment_intent_id VARCHAR(255),
+    intent_status VARCHAR(255),
+    order_id BIGINT,
+    status TINYINT,
+    received_at TIMESTAMP(6),
+    processed_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS cart_summaries (
+    user_id BIGINT NOT NULL,
+    order_id BIGINT,
+    total BIGINT,
+    item_count BIGINT,
+    updated_at TIMESTAMP(6),
+    cart_lines JSON,
+    PRIMARY KEY (user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_cart_summaries_order ON cart_summaries (order_id);
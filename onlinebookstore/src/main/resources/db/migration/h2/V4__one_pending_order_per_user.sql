@@ -0,0 +1,5 @@
+-- H2 counterpart of mysql/V4__one_pending_order_per_user.sql.
+ALTER TABLE orders ADD COLUMN pending_user_id BIGINT
+    GENERATED ALWAYS AS (CASE WHEN order_status = 0 THEN user_id END);
+
+CREATE UNIQUE INDEX uk_orders_pending_user ON orders (pending_user_id);
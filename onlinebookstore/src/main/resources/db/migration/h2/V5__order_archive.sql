@@ -0,0 +1,29 @@
+-- H2 counterpart of mysql/V5__order_archive.sql.
+
+CREATE TABLE orders_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    description VARCHAR(255),
+    address VARCHAR(255),
+    payment_type VARCHAR(255),
+    date TIMESTAMP(6),
+    price BIGINT,
+    order_status TINYINT,
+    archived_at TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_orders_archive_user ON orders_archive (user_id, id);
+
+CREATE TABLE cart_items_archive (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    book_title VARCHAR(255),
+    quantity BIGINT,
+    price BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_cart_items_archive_order ON cart_items_archive (order_id);
@@ -0,0 +1,55 @@
+-- Schema as Hibernate created it before migrations took over. Databases that already have
+-- these tables are baselined at this version (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE categories (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    description LONGTEXT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255),
+    email VARCHAR(255),
+    password VARCHAR(255),
+    user_role VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE books (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    title VARCHAR(255),
+    author VARCHAR(255),
+    price INTEGER,
+    image_url VARCHAR(255),
+    category_id BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_books_category FOREIGN KEY (category_id) REFERENCES categories (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE orders (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    description VARCHAR(255),
+    address VARCHAR(255),
+    payment_type VARCHAR(255),
+    date DATETIME(6),
+    price BIGINT,
+    order_status TINYINT,
+    user_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE cart_items (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    price BIGINT NOT NULL,
+    quantity BIGINT,
+    book_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    order_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_cart_items_book FOREIGN KEY (book_id) REFERENCES books (id) ON DELETE CASCADE,
+    CONSTRAINT fk_cart_items_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT fk_cart_items_order FOREIGN KEY (order_id) REFERENCES orders (id)
+) ENGINE=InnoDB;
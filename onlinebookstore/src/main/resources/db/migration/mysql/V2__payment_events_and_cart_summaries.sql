@@ -0,0 +1,26 @@
+-- Tables added after the baseline: payment webhook events and the cart read model. A
+-- database that ran those versions with ddl-auto=update already has payment_events, so both
+-- tables are created only when missing.
+
+CREATE TABLE IF NOT EXISTS payment_events (
+    id VARCHAR(255) NOT NULL,
+    type VARCHAR(255),
+    payment_intent_id VARCHAR(255),
+    intent_status VARCHAR(255),
+    order_id BIGINT,
+    status TINYINT,
+    received_at DATETIME(6),
+    processed_at DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS cart_summaries (
+    user_id BIGINT NOT NULL,
+    order_id BIGINT,
+    total BIGINT,
+    item_count BIGINT,
+    updated_at DATETIME(6),
+    cart_lines JSON,
+    PRIMARY KEY (user_id),
+    INDEX idx_cart_summaries_order (order_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,6 @@
+-- At most one PENDING order (order_status = 0) per user. MySQL has no partial indexes, so a
+-- virtual column holds user_id for pending orders only and NULL otherwise; a unique index
+-- allows any number of NULLs.
+ALTER TABLE orders
+    ADD COLUMN pending_user_id BIGINT AS (CASE WHEN order_status = 0 THEN user_id END) VIRTUAL,
+    ADD UNIQUE INDEX uk_orders_pending_user (pending_user_id);
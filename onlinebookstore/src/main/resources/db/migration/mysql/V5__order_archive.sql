@@ -0,0 +1,28 @@
+-- Submitted orders older than orders.archive.age, moved out of the hot tables by the archive
+-- job. Rows keep their original ids; lines keep the book title, since the book may be deleted.
+
+CREATE TABLE orders_archive (
+    id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    description VARCHAR(255),
+    address VARCHAR(255),
+    payment_type VARCHAR(255),
+    date DATETIME(6),
+    price BIGINT,
+    order_status TINYINT,
+    archived_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_orders_archive_user (user_id, id)
+) ENGINE=InnoDB;
+
+CREATE TABLE cart_items_archive (
+    id BIGINT NOT NULL,
+    order_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    book_id BIGINT NOT NULL,
+    book_title VARCHAR(255),
+    quantity BIGINT,
+    price BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_cart_items_archive_order (order_id)
+) ENGINE=InnoDB;
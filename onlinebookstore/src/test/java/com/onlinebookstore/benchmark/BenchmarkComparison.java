@@ -0,0 +1,78 @@
+package com.onlinebookstore.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files, typically {@code target/jmh-result.json} saved from two
+ * commits, and exits with status 1 when any benchmark got slower by more than the threshold
+ * (10% by default) beyond its measurement error:
+ *
+ * <pre>
+ * java -cp target/test-classes:... com.onlinebookstore.benchmark.BenchmarkComparison \
+ *     baseline.json target/jmh-result.json 10
+ * </pre>
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BenchmarkComparison <baseline.json> <current.json> [threshold %]");
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        System.out.printf("%-70s %12s %12s %9s%n", "benchmark", "baseline", "current", "change");
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            JsonNode metric = after.path("primaryMetric");
+            if (before == null) {
+                System.out.printf("%-70s %12s %12.3f %9s%n", entry.getKey(), "-", metric.path("score").asDouble(), "new");
+                continue;
+            }
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = metric.path("score").asDouble();
+            double change = (newScore - oldScore) / oldScore * 100;
+            // Throughput modes improve upwards, time modes downwards
+            double slowdown = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+            double error = (safe(before.path("primaryMetric").path("scoreError").asDouble())
+                    + safe(metric.path("scoreError").asDouble())) / oldScore * 100;
+            boolean regressed = slowdown > threshold + error;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-70s %12.3f %12.3f %8.1f%% %s%n", entry.getKey(), oldScore, newScore, change,
+                    regressed ? "REGRESSION" : "");
+        }
+        System.out.printf("%n%d regression(s) over %.0f%%%n", regressions, threshold);
+        System.exit(regressions == 0 ? 0 : 1);
+    }
+
+    /** Results keyed by benchmark name and parameters, e.g. {@code MapperBenchmark.bookList size=1000} */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            String name = result.path("benchmark").asText().replace("com.onlinebookstore.benchmark.", "");
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+            StringBuilder key = new StringBuilder(name);
+            params.forEach((param, value) -> key.append(' ').append(param).append('=').append(value));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    /** JMH reports NaN as the error of a single measurement iteration */
+    private static double safe(double error) {
+        return Double.isNaN(error) ? 0 : error;
+    }
+}
@@ -0,0 +1,76 @@
+package com.onlinebookstore.benchmark;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.UserRole;
+
+/**
+ * Detached entity graphs shaped like the catalog and order history, shared by the benchmarks
+ * so every run measures the same data.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static List<Book> books(int count) {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Fiction");
+        List<Book> books = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Book book = new Book();
+            book.setId(id);
+            book.setTitle("The Collected Works, Volume " + id);
+            book.setAuthor("Author " + (id % 500));
+            book.setPrice((int) (100 + id % 900));
+            book.setImageUrl("https://images.example.com/books/" + id + ".jpg");
+            book.setCategory(category);
+            books.add(book);
+        }
+        return books;
+    }
+
+    static List<Order> orders(int count, int linesPerOrder) {
+        User user = new User();
+        user.setId(1L);
+        user.setName("Reader");
+        user.setEmail("reader@test.com");
+        user.setUserRole(UserRole.USER);
+        List<Book> books = books(linesPerOrder);
+        List<Order> orders = new ArrayList<>(count);
+        for (long id = 1; id <= count; id++) {
+            Order order = new Order();
+            order.setId(id);
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.SUBMITTED);
+            order.setAddress("221B Baker Street, London");
+            order.setDescription("Gift wrap please");
+            order.setPaymentType("STRIPE");
+            order.setDate(new Date(1_700_000_000_000L + id * 60_000));
+            long total = 0;
+            for (Book book : books) {
+                CartItems line = new CartItems();
+                line.setId(id * linesPerOrder + book.getId());
+                line.setBook(book);
+                line.setUser(user);
+                line.setOrder(order);
+                line.setQuantity(2L);
+                line.setPrice(2L * book.getPrice());
+                order.getCartItems().add(line);
+                total += line.getPrice();
+            }
+            order.setPrice(total);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
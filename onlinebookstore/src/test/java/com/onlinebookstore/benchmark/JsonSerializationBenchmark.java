@@ -0,0 +1,64 @@
+package com.onlinebookstore.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+
+/**
+ * Response body serialization of large catalog and order listings, with an ObjectMapper
+ * configured the way Spring MVC configures its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<BookDTO> books;
+    private List<OrderDTO> orders;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BookMapper bookMapper = new BookMapper();
+        OrderMapper orderMapper = new OrderMapper(new CartMapper());
+        books = BenchmarkData.books(size).stream().map(bookMapper::toDTO).toList();
+        orders = BenchmarkData.orders(size, 5).stream().map(orderMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public byte[] bookList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(books);
+    }
+
+    @Benchmark
+    public byte[] orderList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,123 @@
+package com.onlinebookstore.benchmark;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.onlinebookstore.cache.UserRoleCache;
+import com.onlinebookstore.cache.VerifiedTokenCache;
+import com.onlinebookstore.enums.JwtAuthMode;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.filters.JwtRequestFilter;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Per-request cost of authenticating a bearer token. {@code legacyFilterPath} replays
+ * the previous behaviour (key decoded and parser built on every call, token parsed
+ * three times); {@code filterPath} runs the current {@link JwtRequestFilter} in each
+ * {@link JwtAuthMode}, with and without the verified-token cache. Both user lookups
+ * are in-memory stand-ins for a warm cache or a database hit, so the numbers isolate
+ * token handling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+    static final String EMAIL = "customer@test.com";
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"CLAIMS", "DATABASE"})
+    public JwtAuthMode authMode;
+
+    /** false disables the verified-token cache, so every request verifies the signature */
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private UserDetailsService userDetailsService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        UserDetails user = new User(EMAIL, "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        userDetailsService = username -> user;
+        jwtUtil = new JwtUtil(SECRET, 3600000L);
+        UserRoleCache userRoleCache = new UserRoleCache(null) {
+            @Override
+            public UserRole currentRole(Long userId) {
+                return UserRole.USER;
+            }
+        };
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(tokenCache ? 10000 : 0, new SimpleMeterRegistry());
+        filter = new JwtRequestFilter(jwtUtil, userDetailsService, userRoleCache, verifiedTokenCache, authMode,
+                new BookstoreMetrics(new SimpleMeterRegistry()));
+        token = jwtUtil.generateToken(1L, EMAIL, "USER");
+    }
+
+    @Benchmark
+    public Object filterPath() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customer/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String username = legacyParse(token).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    private static Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtRequestFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
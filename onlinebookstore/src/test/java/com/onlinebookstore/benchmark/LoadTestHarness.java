@@ -0,0 +1,187 @@
+package com.onlinebookstore.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP load generator for comparing the platform-thread and virtual-thread
+ * execution modes. Start one backend per mode (e.g. port 8080 with the default profile and
+ * port 8081 built with {@code -Pjava21} and run with the {@code virtual-threads} profile),
+ * then point the harness at both:
+ *
+ * <pre>
+ * java -cp target/test-classes:... com.onlinebookstore.benchmark.LoadTestHarness \
+ *     --target platform=http://localhost:8080 --target virtual=http://localhost:8081 \
+ *     --path /api/customer/books --user reader@test.com --password secret \
+ *     --concurrency 400 --warmup 15 --duration 60
+ * </pre>
+ *
+ * Every client thread sends a request, waits for the response and immediately sends the
+ * next, so throughput is bounded by server latency. Targets are measured one after the
+ * other and summarised as throughput and p50/p99/max latency.
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> targets = new LinkedHashMap<>();
+        String path = "/api/customer/books";
+        String user = null;
+        String password = null;
+        int concurrency = 200;
+        int warmupSeconds = 10;
+        int durationSeconds = 30;
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--target" -> {
+                    String[] nameAndUrl = value.split("=", 2);
+                    targets.put(nameAndUrl[0], nameAndUrl[1]);
+                }
+                case "--path" -> path = value;
+                case "--user" -> user = value;
+                case "--password" -> password = value;
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                case "--warmup" -> warmupSeconds = Integer.parseInt(value);
+                case "--duration" -> durationSeconds = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (targets.isEmpty()) {
+            targets.put("default", "http://localhost:8080");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 8)))
+                .build();
+        List<Result> results = new ArrayList<>();
+        for (Map.Entry<String, String> target : targets.entrySet()) {
+            String token = user == null ? null : login(client, target.getValue(), user, password);
+            HttpRequest request = request(target.getValue() + path, token);
+            System.out.printf("%s: warming up for %ds%n", target.getKey(), warmupSeconds);
+            run(client, request, concurrency, warmupSeconds);
+            System.out.printf("%s: measuring %d clients for %ds%n", target.getKey(), concurrency, durationSeconds);
+            results.add(run(client, request, concurrency, durationSeconds).named(target.getKey()));
+        }
+
+        System.out.printf("%n%-10s %10s %10s %10s %10s %10s %8s%n", "mode", "requests", "req/s", "p50 ms", "p99 ms",
+                "max ms", "errors");
+        for (Result result : results) {
+            System.out.printf("%-10s %10d %10.1f %10.1f %10.1f %10.1f %8d%n", result.name, result.requests(),
+                    result.throughput(), result.percentileMillis(50), result.percentileMillis(99),
+                    result.percentileMillis(100), result.errors);
+        }
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] window = new long[2];
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                int errors = 0;
+                start.await();
+                while (System.nanoTime() < window[1]) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors++;
+                            continue;
+                        }
+                    } catch (java.io.IOException e) {
+                        errors++;
+                        continue;
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                long[] out = Arrays.copyOf(latencies, count + 1);
+                out[count] = -errors;
+                return out;
+            }));
+        }
+        window[0] = System.nanoTime();
+        window[1] = window[0] + Duration.ofSeconds(seconds).toNanos();
+        start.countDown();
+
+        Result result = new Result();
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            long[] latencies = future.get();
+            result.errors += (int) -latencies[latencies.length - 1];
+            perClient.add(Arrays.copyOf(latencies, latencies.length - 1));
+        }
+        clients.shutdown();
+        result.seconds = (System.nanoTime() - window[0]) / 1e9;
+        result.latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        return result;
+    }
+
+    private static String login(HttpClient client, String baseUrl, String user, String password) throws Exception {
+        String body = "{\"username\":\"" + user + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode());
+        }
+        int start = response.body().indexOf(':') + 2;
+        return response.body().substring(start, response.body().indexOf('"', start));
+    }
+
+    private static HttpRequest request(String url, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static class Result {
+        String name;
+        long[] latencies;
+        int errors;
+        double seconds;
+
+        Result named(String name) {
+            this.name = name;
+            return this;
+        }
+
+        int requests() {
+            return latencies.length;
+        }
+
+        double throughput() {
+            return latencies.length / seconds;
+        }
+
+        double percentileMillis(int percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+            return latencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.onlinebookstore.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.CartDTO;
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+
+/**
+ * Entity to DTO conversion as done for a catalog listing ({@code size} books), an order
+ * history page ({@code size} orders of five lines) and a single cart line.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"20", "1000"})
+    public int size;
+
+    private final BookMapper bookMapper = new BookMapper();
+    private final CartMapper cartMapper = new CartMapper();
+    private final OrderMapper orderMapper = new OrderMapper(cartMapper);
+
+    private List<Book> books;
+    private List<Order> orders;
+    private CartItems cartLine;
+
+    @Setup
+    public void setUp() {
+        books = BenchmarkData.books(size);
+        orders = BenchmarkData.orders(size, 5);
+        cartLine = orders.get(0).getCartItems().get(0);
+    }
+
+    @Benchmark
+    public List<BookDTO> bookList() {
+        List<BookDTO> dtos = new ArrayList<>(books.size());
+        for (Book book : books) {
+            dtos.add(bookMapper.toDTO(book));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public List<OrderDTO> orderList() {
+        List<OrderDTO> dtos = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            dtos.add(orderMapper.toDTO(order));
+        }
+        return dtos;
+    }
+
+    @Benchmark
+    public CartDTO cartLine() {
+        return cartMapper.toDTO(cartLine);
+    }
+}
@@ -0,0 +1,100 @@
+package com.onlinebookstore.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.OrderConfirmationLineDTO;
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+
+/**
+ * Building and serializing the place-order response for a cart of {@code cartSize} lines.
+ * {@code legacyResponse} replays the previous body, an OrderDTO that also carried the Order
+ * entity (and with it the user and a second copy of every line); {@code confirmationResponse}
+ * is the current OrderConfirmationDTO built from the line projection. Payload sizes of both
+ * are printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlaceOrderResponseBenchmark {
+
+    @Param({"100"})
+    public int cartSize;
+
+    private final OrderMapper orderMapper = new OrderMapper(new CartMapper());
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private List<OrderConfirmationLineDTO> lines;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        order = BenchmarkData.orders(1, cartSize).get(0);
+        order.getUser().setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3nwXWRfWPaRrB2eBYBfnDrC");
+        // What the projection query returns for the same cart
+        lines = order.getCartItems().stream()
+                .map(line -> new OrderConfirmationLineDTO(line.getBook().getId(), line.getBook().getTitle(),
+                        line.getQuantity(), line.getPrice()))
+                .toList();
+        System.out.printf("%nplaceOrder response for %d lines: legacy %d bytes, confirmation %d bytes%n", cartSize,
+                legacyResponse().length, confirmationResponse().length);
+    }
+
+    @Benchmark
+    public byte[] legacyResponse() throws JsonProcessingException {
+        LegacyOrderDTO orderDTO = new LegacyOrderDTO();
+        OrderDTO mapped = orderMapper.toDTO(order);
+        orderDTO.setId(mapped.getId());
+        orderDTO.setOrderStatus(mapped.getOrderStatus());
+        orderDTO.setAmount(mapped.getAmount());
+        orderDTO.setAddress(mapped.getAddress());
+        orderDTO.setPaymentType(mapped.getPaymentType());
+        orderDTO.setDate(mapped.getDate());
+        orderDTO.setOrderDescription(mapped.getOrderDescription());
+        orderDTO.setUsername(mapped.getUsername());
+        orderDTO.setCartDTO(mapped.getCartDTO());
+        orderDTO.setOrder(order);
+        return objectMapper.writeValueAsBytes(orderDTO);
+    }
+
+    @Benchmark
+    public byte[] confirmationResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orderMapper.toConfirmationDTO(order, lines));
+    }
+
+    /** The removed {@code OrderDTO.order} field */
+    public static class LegacyOrderDTO extends OrderDTO {
+
+        private Order order;
+
+        public Order getOrder() {
+            return order;
+        }
+
+        public void setOrder(Order order) {
+            this.order = order;
+        }
+    }
+}
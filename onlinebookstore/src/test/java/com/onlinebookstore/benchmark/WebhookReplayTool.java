@@ -0,0 +1,165 @@
+package com.onlinebookstore.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Replays Stripe webhook deliveries against a running backend, signed locally with the
+ * endpoint secret, so the webhook pipeline can be load tested without network access.
+ * Events come from an NDJSON file of Stripe event payloads, or are generated as
+ * {@code payment_intent.succeeded} events for a range of order ids. A share of deliveries
+ * is repeated, as Stripe does, to exercise duplicate detection:
+ *
+ * <pre>
+ * java -cp target/test-classes:... com.onlinebookstore.benchmark.WebhookReplayTool \
+ *     --url http://localhost:8080 --secret whsec_test --orders 1-5000 \
+ *     --duplicates 0.2 --concurrency 32
+ * </pre>
+ *
+ * Each delivery is signed at send time, so recorded events replay within the timestamp
+ * tolerance. Prints throughput, p50/p99/max latency and the count of each response status.
+ */
+public class WebhookReplayTool {
+
+    public static void main(String[] args) throws Exception {
+        String url = "http://localhost:8080";
+        String secret = null;
+        Path eventsFile = null;
+        long firstOrder = 1;
+        long lastOrder = 1000;
+        double duplicates = 0.1;
+        int concurrency = 16;
+        for (int i = 0; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--url" -> url = value;
+                case "--secret" -> secret = value;
+                case "--events" -> eventsFile = Path.of(value);
+                case "--orders" -> {
+                    String[] range = value.split("-", 2);
+                    firstOrder = Long.parseLong(range[0]);
+                    lastOrder = Long.parseLong(range[1]);
+                }
+                case "--duplicates" -> duplicates = Double.parseDouble(value);
+                case "--concurrency" -> concurrency = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+        if (secret == null) {
+            throw new IllegalArgumentException("--secret must match stripe.webhook.secret of the target");
+        }
+
+        List<String> events = eventsFile != null
+                ? Files.readAllLines(eventsFile).stream().filter(line -> !line.isBlank()).toList()
+                : generate(firstOrder, lastOrder);
+        List<String> deliveries = new ArrayList<>(events);
+        for (int i = 0; i < events.size() * duplicates; i++) {
+            deliveries.add(events.get(i % events.size()));
+        }
+        Collections.shuffle(deliveries);
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, concurrency / 4)))
+                .build();
+        URI endpoint = URI.create(url + "/api/payment/webhook");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+
+        System.out.printf("Replaying %d deliveries of %d events with %d clients%n", deliveries.size(), events.size(),
+                concurrency);
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        AtomicInteger next = new AtomicInteger();
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        long started = System.nanoTime();
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            futures.add(clients.submit(() -> {
+                Mac clientMac = (Mac) mac.clone();
+                long[] latencies = new long[1024];
+                int count = 0;
+                for (int i = next.getAndIncrement(); i < deliveries.size(); i = next.getAndIncrement()) {
+                    String payload = deliveries.get(i);
+                    long sent = System.nanoTime();
+                    int status;
+                    try {
+                        status = client.send(HttpRequest.newBuilder(endpoint)
+                                .timeout(Duration.ofSeconds(30))
+                                .header("Content-Type", "application/json")
+                                .header("Stripe-Signature", sign(clientMac, payload))
+                                .POST(HttpRequest.BodyPublishers.ofString(payload))
+                                .build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    } catch (java.io.IOException e) {
+                        status = -1;
+                    }
+                    statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - sent;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+        List<long[]> perClient = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perClient.add(future.get());
+        }
+        clients.shutdown();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long[] latencies = perClient.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+
+        System.out.printf("%n%10s %10s %10s %10s %10s%n", "deliveries", "req/s", "p50 ms", "p99 ms", "max ms");
+        System.out.printf("%10d %10.1f %10.1f %10.1f %10.1f%n", latencies.length, latencies.length / seconds,
+                percentileMillis(latencies, 50), percentileMillis(latencies, 99), percentileMillis(latencies, 100));
+        new TreeMap<>(statuses).forEach((status, total) -> System.out.printf("status %d: %d%n", status, total.sum()));
+        System.exit(0);
+    }
+
+    private static List<String> generate(long firstOrder, long lastOrder) {
+        List<String> events = new ArrayList<>();
+        for (long orderId = firstOrder; orderId <= lastOrder; orderId++) {
+            events.add("{\"id\":\"evt_replay_" + orderId + "\",\"object\":\"event\",\"type\":\"payment_intent.succeeded\","
+                    + "\"data\":{\"object\":{\"id\":\"pi_replay_" + orderId + "\",\"object\":\"payment_intent\","
+                    + "\"status\":\"succeeded\",\"metadata\":{\"orderId\":\"" + orderId + "\"}}}}");
+        }
+        return events;
+    }
+
+    /** Stripe's scheme: v1 is the hex HMAC-SHA256 of "timestamp.payload" */
+    private static String sign(Mac mac, String payload) {
+        long timestamp = System.currentTimeMillis() / 1000;
+        byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+    }
+
+    private static double percentileMillis(long[] latencies, int percentile) {
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+        return latencies[Math.max(0, index)] / 1e6;
+    }
+}
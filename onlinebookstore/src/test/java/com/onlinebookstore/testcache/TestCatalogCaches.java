@@ -0,0 +1,101 @@
+package com.onlinebookstore.testcache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.onlinebookstore.cache.CatalogCacheInvalidator;
+import com.onlinebookstore.config.CacheConfiguration;
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CategoryMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.repository.CategoryRepository;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.service.AdminService;
+import com.onlinebookstore.service.AdminServiceImpl;
+import com.onlinebookstore.service.BookPageService;
+import com.onlinebookstore.service.CartSummaryService;
+import com.onlinebookstore.service.OrderArchiveService;
+
+/**
+ * The admin service behind the real cache configuration, with catalog events delivered
+ * through the context to {@link CatalogCacheInvalidator}.
+ */
+@SpringBootTest(classes = { CacheConfiguration.class, CatalogCacheInvalidator.class, AdminServiceImpl.class,
+        BookMapper.class })
+class TestCatalogCaches {
+
+    private static final Long BOOK_ID = 1L;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @MockitoBean
+    private BookRepository bookRepository;
+
+    @MockitoBean
+    private CategoryRepository categoryRepository;
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private CategoryMapper categoryMapper;
+
+    @MockitoBean
+    private OrderMapper orderMapper;
+
+    @MockitoBean
+    private OrderArchiveService orderArchiveService;
+
+    @MockitoBean
+    private CartSummaryService cartSummaryService;
+
+    @MockitoBean
+    private BookPageService bookPageService;
+
+    @Test
+    void testBookIsServedFromCacheUntilItChanges() {
+        when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.of(book("Dune")));
+
+        assertEquals("Dune", adminService.getBookById(BOOK_ID).getTitle());
+        assertEquals("Dune", adminService.getBookById(BOOK_ID).getTitle());
+        verify(bookRepository, times(1)).findById(BOOK_ID);
+
+        // The changed book replaces the entry, so it is still served without a lookup
+        BookDTO changed = new BookMapper().toDTO(book("Dune Messiah"));
+        eventPublisher.publishEvent(new BookChangedEvent(changed));
+        assertEquals("Dune Messiah", adminService.getBookById(BOOK_ID).getTitle());
+        verify(bookRepository, times(1)).findById(BOOK_ID);
+
+        // A deleted book is evicted and looked up again
+        eventPublisher.publishEvent(new BookDeletedEvent(BOOK_ID));
+        when(bookRepository.findById(BOOK_ID)).thenReturn(Optional.empty());
+        assertNull(adminService.getBookById(BOOK_ID));
+        verify(bookRepository, times(2)).findById(BOOK_ID);
+    }
+
+    private static Book book(String title) {
+        Book book = new Book();
+        book.setId(BOOK_ID);
+        book.setTitle(title);
+        book.setAuthor("Frank Herbert");
+        book.setPrice(250);
+        return book;
+    }
+}
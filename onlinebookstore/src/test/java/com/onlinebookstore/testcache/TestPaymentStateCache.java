@@ -0,0 +1,108 @@
+package com.onlinebookstore.testcache;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.onlinebookstore.cache.PaymentStateCache;
+import com.onlinebookstore.exception.PaymentGatewayException;
+import com.onlinebookstore.payment.PaymentGateway;
+import com.onlinebookstore.payment.PaymentIntentResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TestPaymentStateCache {
+
+    private PaymentGateway paymentGateway;
+
+    @BeforeEach
+    void setUp() {
+        paymentGateway = mock(PaymentGateway.class);
+    }
+
+    @Test
+    void testConcurrentPollsShareOneGatewayCall() throws Exception {
+        CompletableFuture<PaymentIntentResult> pending = new CompletableFuture<>();
+        when(paymentGateway.retrievePaymentIntent("pi_1")).thenReturn(pending);
+        PaymentStateCache cache = cache(Duration.ofMinutes(1));
+
+        List<CompletableFuture<PaymentIntentResult>> polls = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            polls.add(cache.get("pi_1"));
+        }
+        pending.complete(intent("processing"));
+
+        for (CompletableFuture<PaymentIntentResult> poll : polls) {
+            assertEquals("processing", poll.get(5, TimeUnit.SECONDS).getStatus());
+        }
+        verify(paymentGateway, times(1)).retrievePaymentIntent("pi_1");
+    }
+
+    @Test
+    void testAnswersKnownStateWithoutGateway() throws Exception {
+        PaymentStateCache cache = cache(Duration.ofMinutes(1));
+
+        cache.put(intent("requires_payment_method"));
+
+        assertEquals("requires_payment_method", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    void testRefreshesStaleStateInBackground() throws Exception {
+        CompletableFuture<PaymentIntentResult> refreshed = new CompletableFuture<>();
+        when(paymentGateway.retrievePaymentIntent("pi_1")).thenReturn(refreshed);
+        PaymentStateCache cache = cache(Duration.ofMillis(1));
+        cache.put(intent("processing"));
+        Thread.sleep(20);
+
+        // The stale state is served while the refresh runs
+        assertEquals("processing", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+        verify(paymentGateway, timeout(5_000)).retrievePaymentIntent("pi_1");
+        assertEquals("processing", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+
+        refreshed.complete(intent("succeeded"));
+        assertEquals("succeeded", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    void testFinalStateIsNeverFetchedOrReplaced() throws Exception {
+        PaymentStateCache cache = cache(Duration.ofMillis(1));
+        cache.put(intent("succeeded"));
+
+        // A late, out-of-order webhook event does not regress the state
+        cache.put(intent("processing"));
+        Thread.sleep(20);
+
+        assertEquals("succeeded", cache.refresh("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("succeeded", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+        verifyNoInteractions(paymentGateway);
+    }
+
+    @Test
+    void testFailedLookupIsNotCached() throws Exception {
+        when(paymentGateway.retrievePaymentIntent("pi_1"))
+                .thenReturn(CompletableFuture.failedFuture(new PaymentGatewayException("timeout", true)))
+                .thenReturn(CompletableFuture.completedFuture(intent("processing")));
+        PaymentStateCache cache = cache(Duration.ofMinutes(1));
+
+        assertTrue(cache.get("pi_1").isCompletedExceptionally());
+        assertEquals("processing", cache.get("pi_1").get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    private PaymentStateCache cache(Duration refreshAfter) {
+        return new PaymentStateCache(paymentGateway, 100, refreshAfter, Duration.ofHours(1), new SimpleMeterRegistry());
+    }
+
+    private static PaymentIntentResult intent(String status) {
+        return PaymentIntentResult.builder().id("pi_1").status(status).amount(50_000L).currency("inr").build();
+    }
+}
@@ -0,0 +1,59 @@
+package com.onlinebookstore.testcache;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.onlinebookstore.cache.VerifiedTokenCache;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.filters.JwtPrincipal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TestVerifiedTokenCache {
+
+    private MeterRegistry meterRegistry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(100, meterRegistry);
+    }
+
+    @Test
+    void testReturnsPrincipalUntilTokenExpires() {
+        JwtPrincipal principal = principal(new Date(System.currentTimeMillis() + 60_000));
+        cache.put("token", principal);
+
+        assertSame(principal, cache.get("token"));
+        assertNull(cache.get("other-token"));
+    }
+
+    @Test
+    void testDoesNotServeExpiredToken() {
+        cache.put("token", principal(new Date(System.currentTimeMillis() - 1_000)));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void testPublishesHitAndMissMetrics() {
+        cache.put("token", principal(new Date(System.currentTimeMillis() + 60_000)));
+        cache.get("token");
+        cache.get("other-token");
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", VerifiedTokenCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    private static JwtPrincipal principal(Date expiresAt) {
+        return new JwtPrincipal(7L, "a@test.com", UserRole.USER, expiresAt);
+    }
+}
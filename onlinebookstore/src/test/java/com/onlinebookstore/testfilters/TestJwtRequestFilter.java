@@ -0,0 +1,119 @@
+package com.onlinebookstore.testfilters;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import com.onlinebookstore.cache.UserRoleCache;
+import com.onlinebookstore.cache.VerifiedTokenCache;
+import com.onlinebookstore.enums.JwtAuthMode;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.filters.JwtPrincipal;
+import com.onlinebookstore.filters.JwtRequestFilter;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.util.JwtUtil;
+
+class TestJwtRequestFilter {
+
+    private static final String SECRET = "5367566B59703373367639792F423F4528482B4D6251655468576D5A71347437";
+
+    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetailsService userDetailsService;
+    private UserRoleCache userRoleCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = spy(new JwtUtil(SECRET, 3600000L));
+        verifiedTokenCache = new VerifiedTokenCache(100, new SimpleMeterRegistry());
+        userDetailsService = mock(UserDetailsService.class);
+        userRoleCache = mock(UserRoleCache.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testClaimsModeAuthenticatesWithoutLoadingUser() throws Exception {
+        when(userRoleCache.currentRole(7L)).thenReturn(UserRole.USER);
+
+        Authentication authentication = filter(JwtAuthMode.CLAIMS, jwtUtil.generateToken(7L, "a@test.com", "USER"));
+
+        assertNotNull(authentication);
+        JwtPrincipal principal = (JwtPrincipal) authentication.getPrincipal();
+        assertEquals(7L, principal.getUserId());
+        assertEquals("a@test.com", principal.getName());
+        assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testClaimsModeRejectsChangedRole() throws Exception {
+        when(userRoleCache.currentRole(7L)).thenReturn(UserRole.USER);
+
+        assertNull(filter(JwtAuthMode.CLAIMS, jwtUtil.generateToken(7L, "a@test.com", "ADMIN")));
+    }
+
+    @Test
+    void testClaimsModeRejectsDeletedUser() throws Exception {
+        when(userRoleCache.currentRole(7L)).thenReturn(null);
+
+        assertNull(filter(JwtAuthMode.CLAIMS, jwtUtil.generateToken(7L, "a@test.com", "USER")));
+    }
+
+    @Test
+    void testDatabaseModeLoadsUser() throws Exception {
+        when(userDetailsService.loadUserByUsername("a@test.com"))
+                .thenReturn(new User("a@test.com", "pw", List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+
+        Authentication authentication = filter(JwtAuthMode.DATABASE, jwtUtil.generateToken(7L, "a@test.com", "USER"));
+
+        assertNotNull(authentication);
+        verifyNoInteractions(userRoleCache);
+    }
+
+    @Test
+    void testTamperedTokenLeavesRequestUnauthenticated() throws Exception {
+        String token = jwtUtil.generateToken(7L, "a@test.com", "USER");
+
+        assertNull(filter(JwtAuthMode.CLAIMS, token.substring(0, token.length() - 2) + "xx"));
+    }
+
+    @Test
+    void testRepeatedTokenIsVerifiedOnce() throws Exception {
+        when(userRoleCache.currentRole(7L)).thenReturn(UserRole.USER);
+        String token = jwtUtil.generateToken(7L, "a@test.com", "USER");
+
+        assertNotNull(filter(JwtAuthMode.CLAIMS, token));
+        SecurityContextHolder.clearContext();
+        assertNotNull(filter(JwtAuthMode.CLAIMS, token));
+
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+    }
+
+    private Authentication filter(JwtAuthMode mode, String token) throws Exception {
+        JwtRequestFilter filter = new JwtRequestFilter(jwtUtil, userDetailsService, userRoleCache, verifiedTokenCache, mode,
+                new BookstoreMetrics(new SimpleMeterRegistry()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/customer/books");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
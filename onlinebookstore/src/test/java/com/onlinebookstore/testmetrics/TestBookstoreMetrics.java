@@ -0,0 +1,63 @@
+package com.onlinebookstore.testmetrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.metrics.BookstoreMetrics.AuthResult;
+import com.onlinebookstore.metrics.BookstoreMetrics.CartOperation;
+import com.onlinebookstore.metrics.BookstoreMetrics.Outcome;
+import com.onlinebookstore.metrics.BookstoreMetrics.WebhookOutcome;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TestBookstoreMetrics {
+
+    private SimpleMeterRegistry registry;
+    private BookstoreMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new BookstoreMetrics(registry);
+    }
+
+    @Test
+    void testEveryMeterIsRegisteredUpFront() {
+        // Series exist at zero before anything happens, so dashboards and alerts see them
+        assertEquals(CartOperation.values().length * Outcome.values().length,
+                registry.get("bookstore.cart.updates").counters().size());
+        assertEquals(2 * Outcome.values().length, registry.get("bookstore.payments").counters().size());
+        assertEquals(WebhookOutcome.values().length, registry.get("bookstore.payment.webhooks").counters().size());
+        assertEquals(AuthResult.values().length, registry.get("bookstore.jwt.filter").timers().size());
+        // placed, paid and archived
+        assertEquals(3, registry.get("bookstore.orders").counters().size());
+    }
+
+    @Test
+    void testRecordsUnderFixedTags() {
+        metrics.cartUpdated(CartOperation.INCREMENT, Outcome.SUCCESS);
+        metrics.cartUpdated(CartOperation.INCREMENT, Outcome.SUCCESS);
+        metrics.cartUpdated(CartOperation.REMOVE, Outcome.FAILURE);
+        metrics.paymentConfirmed(Outcome.FAILURE);
+        metrics.orderPaid();
+        metrics.jwtFilterTime(AuthResult.AUTHENTICATED, TimeUnit.MICROSECONDS.toNanos(150));
+
+        assertEquals(2, registry.get("bookstore.cart.updates")
+                .tags("operation", "increment", "outcome", "success").counter().count());
+        assertEquals(1, registry.get("bookstore.cart.updates")
+                .tags("operation", "remove", "outcome", "failure").counter().count());
+        assertEquals(1, registry.get("bookstore.payments")
+                .tags("operation", "confirm", "outcome", "failure").counter().count());
+        assertEquals(0, registry.get("bookstore.payments")
+                .tags("operation", "create", "outcome", "failure").counter().count());
+        assertEquals(1, registry.get("bookstore.orders").tag("event", "paid").counter().count());
+        assertEquals(0, registry.get("bookstore.orders").tag("event", "placed").counter().count());
+        assertEquals(150, registry.get("bookstore.jwt.filter").tag("result", "authenticated").timer()
+                .totalTime(TimeUnit.MICROSECONDS), 0.001);
+    }
+}
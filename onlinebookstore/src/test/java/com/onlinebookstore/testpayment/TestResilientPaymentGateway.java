@@ -0,0 +1,157 @@
+package com.onlinebookstore.testpayment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+
+import com.onlinebookstore.exception.PaymentGatewayException;
+import com.onlinebookstore.payment.CircuitBreaker;
+import com.onlinebookstore.payment.PaymentGateway;
+import com.onlinebookstore.payment.PaymentIntentRequest;
+import com.onlinebookstore.payment.PaymentIntentResult;
+import com.onlinebookstore.payment.ResilientPaymentGateway;
+import com.onlinebookstore.payment.StubPaymentGateway;
+
+class TestResilientPaymentGateway {
+
+    private static final PaymentIntentResult INTENT = PaymentIntentResult.builder()
+            .id("pi_1").status("succeeded").amount(1000L).currency("inr").build();
+
+    private final ScriptedGateway delegate = new ScriptedGateway();
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void testRetriesTransientFailuresThenSucceeds() throws Exception {
+        delegate.then(() -> failed(true)).then(() -> failed(true)).then(() -> CompletableFuture.completedFuture(INTENT));
+        ResilientPaymentGateway gateway = gateway(4, Duration.ofSeconds(1), 3, 5);
+
+        assertEquals(INTENT, gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertEquals(3, delegate.calls.get());
+        assertEquals(4, gateway.getAvailablePermits());
+    }
+
+    @Test
+    void testDoesNotRetryPermanentFailures() {
+        delegate.then(() -> failed(false));
+        ResilientPaymentGateway gateway = gateway(4, Duration.ofSeconds(1), 3, 5);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PaymentGatewayException.class, e.getCause());
+        assertEquals(1, delegate.calls.get());
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitState());
+    }
+
+    @Test
+    void testAttemptDeadlineKeepsPermitUntilCallFinishes() {
+        CompletableFuture<PaymentIntentResult> hung = new CompletableFuture<>();
+        delegate.then(() -> hung);
+        ResilientPaymentGateway gateway = gateway(1, Duration.ofMillis(50), 1, 5);
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(0, gateway.getAvailablePermits());
+
+        hung.complete(INTENT);
+        assertEquals(1, gateway.getAvailablePermits());
+    }
+
+    @Test
+    void testBulkheadRejectsCallsBeyondLimit() throws Exception {
+        CompletableFuture<PaymentIntentResult> first = new CompletableFuture<>();
+        CompletableFuture<PaymentIntentResult> second = new CompletableFuture<>();
+        delegate.then(() -> first).then(() -> second).then(() -> CompletableFuture.completedFuture(INTENT));
+        ResilientPaymentGateway gateway = gateway(2, Duration.ofSeconds(5), 1, 5);
+
+        gateway.retrievePaymentIntent("pi_1");
+        gateway.retrievePaymentIntent("pi_2");
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> gateway.retrievePaymentIntent("pi_3").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(PaymentGatewayException.class, e.getCause());
+        assertEquals(2, delegate.calls.get());
+
+        first.complete(INTENT);
+        assertEquals(INTENT, gateway.retrievePaymentIntent("pi_3").get(5, TimeUnit.SECONDS));
+        second.complete(INTENT);
+    }
+
+    @Test
+    void testCircuitOpensAfterConsecutiveFaultsAndRecovers() throws Exception {
+        delegate.then(() -> failed(true)).then(() -> failed(true))
+                .then(() -> CompletableFuture.completedFuture(INTENT));
+        ResilientPaymentGateway gateway = gateway(4, Duration.ofSeconds(1), 1, 2);
+
+        assertThrows(ExecutionException.class, () -> gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.OPEN, gateway.getCircuitState());
+
+        // Rejected without reaching the provider while open
+        assertThrows(ExecutionException.class, () -> gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertEquals(2, delegate.calls.get());
+
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertEquals(INTENT, gateway.retrievePaymentIntent("pi_1").get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitBreaker.State.CLOSED, gateway.getCircuitState());
+    }
+
+    @Test
+    void testStubGatewayHonoursIdempotencyKey() throws Exception {
+        StubPaymentGateway stub = new StubPaymentGateway(Duration.ofMillis(1));
+        PaymentIntentRequest request = PaymentIntentRequest.builder()
+                .amount(1000).currency("inr").orderId(3L).idempotencyKey("key-1").build();
+
+        PaymentIntentResult created = stub.createPaymentIntent(request).get(5, TimeUnit.SECONDS);
+        assertEquals("requires_payment_method", created.getStatus());
+        assertEquals(created.getId(), stub.createPaymentIntent(request).get(5, TimeUnit.SECONDS).getId());
+        assertEquals("succeeded", stub.retrievePaymentIntent(created.getId()).get(5, TimeUnit.SECONDS).getStatus());
+    }
+
+    private ResilientPaymentGateway gateway(int maxConcurrentCalls, Duration callTimeout, int maxAttempts,
+            int failureThreshold) {
+        return new ResilientPaymentGateway(delegate, maxConcurrentCalls, callTimeout, Duration.ofSeconds(10),
+                maxAttempts, Duration.ofMillis(1),
+                new CircuitBreaker(failureThreshold, Duration.ofSeconds(30), clock::get));
+    }
+
+    private static CompletableFuture<PaymentIntentResult> failed(boolean retryable) {
+        return CompletableFuture.failedFuture(new PaymentGatewayException("gateway failure", retryable));
+    }
+
+    /** Answers each call with the next scripted response */
+    private static class ScriptedGateway implements PaymentGateway {
+        private final Deque<Supplier<CompletableFuture<PaymentIntentResult>>> responses = new ArrayDeque<>();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        ScriptedGateway then(Supplier<CompletableFuture<PaymentIntentResult>> response) {
+            responses.add(response);
+            return this;
+        }
+
+        @Override
+        public CompletableFuture<PaymentIntentResult> createPaymentIntent(PaymentIntentRequest request) {
+            return next();
+        }
+
+        @Override
+        public CompletableFuture<PaymentIntentResult> retrievePaymentIntent(String paymentIntentId) {
+            return next();
+        }
+
+        private synchronized CompletableFuture<PaymentIntentResult> next() {
+            calls.incrementAndGet();
+            return responses.poll().get();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.onlinebookstore.testrepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.repository.BookRepository;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TestBookRepository {
+
+    private static final int BOOK_COUNT = 1000;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int c = 0; c < 10; c++) {
+            Category category = new Category();
+            category.setName("Category " + c);
+            entityManager.persist(category);
+            for (int b = 0; b < BOOK_COUNT / 10; b++) {
+                Book book = new Book();
+                book.setTitle("Title " + c + "-" + b);
+                book.setAuthor("Author " + b);
+                book.setPrice(100 + b);
+                book.setCategory(category);
+                entityManager.persist(book);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testFindAllBookDTOsUsesSingleStatement() {
+        List<BookDTO> result = bookRepository.findAllBookDTOs();
+
+        assertEquals(BOOK_COUNT, result.size());
+        assertNotNull(result.get(0).getCategoryName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testSearchFetchesCategoriesWithBooks() {
+        List<BookDTO> result = bookRepository.findAllByTitleContaining("Title").stream()
+                .map(bookMapper::toDTO)
+                .toList();
+
+        assertEquals(BOOK_COUNT, result.size());
+        assertNotNull(result.get(BOOK_COUNT - 1).getCategoryName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testBookDTOPageUsesSingleStatement() {
+        List<BookDTO> firstPage = bookRepository.findBookDTOPage(0L, Limit.of(50));
+        List<BookDTO> nextPage = bookRepository.findBookDTOPage(firstPage.get(49).getId(), Limit.of(50));
+
+        assertEquals(50, firstPage.size());
+        assertEquals(50, nextPage.size());
+        assertTrue(nextPage.get(0).getId() > firstPage.get(49).getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,289 @@
+package com.onlinebookstore.testrepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.CartOperationDTO;
+import com.onlinebookstore.dto.OrderConfirmationDTO;
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.PlaceOrderDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.CartSummary;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.repository.CartItemsRepository;
+import com.onlinebookstore.repository.CartSummaryRepository;
+import com.onlinebookstore.repository.CategoryRepository;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.repository.UserRepository;
+import com.onlinebookstore.search.BookSearchIndex;
+import com.onlinebookstore.search.BookSuggester;
+import com.onlinebookstore.service.BookPageService;
+import com.onlinebookstore.service.CartSummaryServiceImpl;
+import com.onlinebookstore.service.CustomerServiceImpl;
+import com.onlinebookstore.service.OrderArchiveService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Drives the cart service methods against a real database, each call in its own
+ * committed transaction, and checks that no quantity or price update is lost.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cart-concurrency;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        // A connection per thread, so callers queue on the order row lock rather than on the pool
+        "spring.datasource.hikari.maximum-pool-size=64" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TestCartConcurrency {
+
+    private static final int THREADS = 64;
+    private static final int INCREMENTS_PER_THREAD = 20;
+    private static final int DECREMENTS_PER_THREAD = 10;
+    private static final int BOOK_PRICE = 250;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartItemsRepository cartItemsRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartSummaryRepository cartSummaryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CustomerServiceImpl customerService;
+    private TransactionTemplate transactionTemplate;
+
+    private Long userId;
+    private Long bookId;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        CartMapper cartMapper = new CartMapper();
+        OrderMapper orderMapper = new OrderMapper(cartMapper);
+        CartSummaryServiceImpl cartSummaryService = new CartSummaryServiceImpl(cartSummaryRepository,
+                cartItemsRepository, orderRepository, orderMapper);
+        customerService = new CustomerServiceImpl(bookRepository, orderRepository, cartItemsRepository,
+                userRepository, new BookMapper(), cartMapper, orderMapper,
+                mock(BookSearchIndex.class), mock(BookSuggester.class), new BookstoreMetrics(new SimpleMeterRegistry()),
+                cartSummaryService, mock(OrderArchiveService.class), mock(BookPageService.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            User user = new User();
+            user.setName("Reader");
+            user.setEmail("reader@test.com");
+            user.setPassword("secret");
+            user.setUserRole(UserRole.USER);
+            userRepository.save(user);
+
+            Category category = new Category();
+            category.setName("Fiction");
+            categoryRepository.save(category);
+
+            Book book = new Book();
+            book.setTitle("Dune");
+            book.setAuthor("Frank Herbert");
+            book.setPrice(BOOK_PRICE);
+            book.setCategory(category);
+            bookRepository.save(book);
+
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setPrice((long) BOOK_PRICE);
+            order.setDate(new Date());
+            orderRepository.save(order);
+
+            CartItems cartItem = new CartItems();
+            cartItem.setBook(book);
+            cartItem.setUser(user);
+            cartItem.setOrder(order);
+            cartItem.setQuantity(1L);
+            cartItem.setPrice(BOOK_PRICE);
+            cartItemsRepository.save(cartItem);
+
+            userId = user.getId();
+            bookId = book.getId();
+            orderId = order.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        cartSummaryRepository.deleteAll();
+        cartItemsRepository.deleteAll();
+        orderRepository.deleteAll();
+        bookRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentIncrementsAndDecrementsAreExact() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                    transactionTemplate.executeWithoutResult(status -> customerService.addPlusBook(userId, bookId));
+                    if (i < DECREMENTS_PER_THREAD) {
+                        transactionTemplate.executeWithoutResult(status -> customerService.addMinusBook(userId, bookId));
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        long expectedQuantity = 1 + (long) THREADS * (INCREMENTS_PER_THREAD - DECREMENTS_PER_THREAD);
+        CartItems cartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, orderId).orElseThrow();
+        assertEquals(expectedQuantity, cartItem.getQuantity());
+        assertEquals(expectedQuantity * BOOK_PRICE, cartItem.getPrice());
+        assertEquals(expectedQuantity * BOOK_PRICE, orderRepository.findById(orderId).orElseThrow().getPrice());
+        // The read model was rewritten under the same lock, so it ends in step with the cart
+        OrderDTO cart = customerService.getCartByUserId(userId);
+        assertEquals(expectedQuantity, cart.getCartDTO().get(0).getQuantity());
+        assertEquals(expectedQuantity * BOOK_PRICE, cart.getAmount());
+    }
+
+    @Test
+    void testCartViewIsServedFromSummaryAndDroppedOnSubmit() {
+        // No summary yet: the first view builds it from the cart
+        OrderDTO cart = transactionTemplate.execute(status -> customerService.getCartByUserId(userId));
+        assertEquals(orderId, cart.getId());
+        assertEquals(1L, cart.getCartDTO().get(0).getQuantity());
+        assertEquals("Dune", cart.getCartDTO().get(0).getBookTitle());
+        assertTrue(cartSummaryRepository.existsById(userId));
+
+        transactionTemplate.executeWithoutResult(status -> customerService.addPlusBook(userId, bookId));
+        CartSummary summary = cartSummaryRepository.findById(userId).orElseThrow();
+        assertEquals(2L, summary.getItemCount());
+        assertEquals(2L * BOOK_PRICE, summary.getTotal());
+        assertEquals(BOOK_PRICE, summary.getLines().get(0).getUnitPrice());
+
+        PlaceOrderDTO placeOrderDTO = new PlaceOrderDTO();
+        placeOrderDTO.setUserId(userId);
+        transactionTemplate.execute(status -> customerService.placeOrder(placeOrderDTO));
+        assertFalse(cartSummaryRepository.existsById(userId));
+    }
+
+    @Test
+    void testBatchSumsDeltasAndAddsNewLines() {
+        Long secondBookId = transactionTemplate.execute(status -> {
+            Book book = new Book();
+            book.setTitle("Emma");
+            book.setAuthor("Jane Austen");
+            book.setPrice(100);
+            book.setCategory(bookRepository.findById(bookId).orElseThrow().getCategory());
+            return bookRepository.save(book).getId();
+        });
+
+        OrderDTO result = transactionTemplate.execute(status -> customerService.applyCartOperations(userId,
+                List.of(operation(bookId, 5), operation(secondBookId, 2), operation(bookId, -2))));
+
+        assertEquals(2, result.getCartDTO().size());
+        assertEquals(4 * BOOK_PRICE + 2 * 100L, result.getAmount());
+        CartItems cartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, orderId).orElseThrow();
+        assertEquals(4L, cartItem.getQuantity());
+        assertEquals(4L * BOOK_PRICE, cartItem.getPrice());
+    }
+
+    @Test
+    void testBatchRemovesEmptiedLine() {
+        OrderDTO result = transactionTemplate.execute(status -> customerService.applyCartOperations(userId,
+                List.of(operation(bookId, -3))));
+
+        assertTrue(result.getCartDTO().isEmpty());
+        assertEquals(0L, orderRepository.findById(orderId).orElseThrow().getPrice());
+        assertTrue(cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, orderId).isEmpty());
+    }
+
+    @Test
+    void testDecrementNeverEmptiesLine() {
+        transactionTemplate.executeWithoutResult(status -> customerService.addMinusBook(userId, bookId));
+
+        CartItems cartItem = cartItemsRepository.findByUserIdAndBookIdAndOrderId(userId, bookId, orderId).orElseThrow();
+        assertEquals(1L, cartItem.getQuantity());
+        assertEquals((long) BOOK_PRICE, orderRepository.findById(orderId).orElseThrow().getPrice());
+    }
+
+    @Test
+    void testPlaceOrderReturnsConfirmationWithoutEntities() throws Exception {
+        transactionTemplate.executeWithoutResult(status -> customerService.addPlusBook(userId, bookId));
+        PlaceOrderDTO placeOrderDTO = new PlaceOrderDTO();
+        placeOrderDTO.setUserId(userId);
+        placeOrderDTO.setAddress("221B Baker Street");
+        placeOrderDTO.setPayment("Cash on Delivery");
+
+        OrderConfirmationDTO confirmation = transactionTemplate.execute(status -> customerService.placeOrder(placeOrderDTO));
+
+        assertEquals(orderId, confirmation.getOrderId());
+        assertEquals(OrderStatus.SUBMITTED, confirmation.getOrderStatus());
+        assertEquals(2L * BOOK_PRICE, confirmation.getAmount());
+        assertEquals(2, confirmation.getItemCount());
+        assertEquals(1, confirmation.getLines().size());
+        assertEquals("Dune", confirmation.getLines().get(0).getBookTitle());
+        String json = new ObjectMapper().writeValueAsString(confirmation);
+        assertFalse(json.contains("secret"));
+        assertFalse(json.contains("reader@test.com"));
+    }
+
+    private static CartOperationDTO operation(Long bookId, long delta) {
+        CartOperationDTO operation = new CartOperationDTO();
+        operation.setBookId(bookId);
+        operation.setDelta(delta);
+        return operation;
+    }
+}
@@ -0,0 +1,158 @@
+package com.onlinebookstore.testrepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderPageDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.CategoryMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.repository.CategoryRepository;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.service.AdminServiceImpl;
+import com.onlinebookstore.service.BookPageService;
+import com.onlinebookstore.service.CartSummaryService;
+import com.onlinebookstore.service.OrderArchiveService;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TestOrderRepository {
+
+    private static final int ORDER_COUNT = 120;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private AdminServiceImpl adminService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        CartMapper cartMapper = new CartMapper();
+        adminService = new AdminServiceImpl(categoryRepository, bookRepository, orderRepository, new BookMapper(),
+                new CategoryMapper(), new OrderMapper(cartMapper), mock(ApplicationEventPublisher.class),
+                mock(OrderArchiveService.class), mock(CartSummaryService.class), mock(BookPageService.class));
+
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        Book[] books = new Book[10];
+        for (int b = 0; b < books.length; b++) {
+            books[b] = new Book();
+            books[b].setTitle("Title " + b);
+            books[b].setAuthor("Author " + b);
+            books[b].setPrice(100 + b);
+            books[b].setCategory(category);
+            entityManager.persist(books[b]);
+        }
+
+        for (int o = 0; o < ORDER_COUNT; o++) {
+            User user = new User();
+            user.setName("User " + o);
+            user.setEmail("user" + o + "@test.com");
+            user.setPassword("secret");
+            user.setUserRole(UserRole.USER);
+            entityManager.persist(user);
+
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(o % 4 == 0 ? OrderStatus.PENDING : OrderStatus.SUBMITTED);
+            order.setDate(date(LocalDate.of(2025, 1, 1).plusDays(o)));
+            order.setPrice(0L);
+            entityManager.persist(order);
+
+            for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+                CartItems cartItem = new CartItems();
+                cartItem.setBook(books[(o + i) % books.length]);
+                cartItem.setUser(user);
+                cartItem.setOrder(order);
+                cartItem.setQuantity(1L);
+                cartItem.setPrice(books[(o + i) % books.length].getPrice());
+                entityManager.persist(cartItem);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testOrdersPageUsesTwoStatementsWhateverItsSize() {
+        OrderPageDTO smallPage = adminService.getOrdersPage(OrderStatus.SUBMITTED, null, null, null, 5);
+        assertEquals(5, smallPage.getSize());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        entityManager.clear();
+        OrderPageDTO largePage = adminService.getOrdersPage(OrderStatus.SUBMITTED, null, null, null, 80);
+        assertEquals(80, largePage.getSize());
+        assertEquals(ITEMS_PER_ORDER, largePage.getOrders().get(0).getCartDTO().size());
+        assertNotNull(largePage.getOrders().get(0).getUsername());
+        assertNotNull(largePage.getOrders().get(0).getCartDTO().get(0).getBookTitle());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testOrdersPageWalksNewestFirstWithCursor() {
+        OrderPageDTO firstPage = adminService.getOrdersPage(OrderStatus.SUBMITTED, null, null, null, 50);
+        OrderPageDTO secondPage = adminService.getOrdersPage(OrderStatus.SUBMITTED, null, null, firstPage.getNextCursor(), 50);
+
+        assertTrue(firstPage.isHasMore());
+        assertFalse(secondPage.isHasMore());
+        assertEquals(ORDER_COUNT * 3 / 4, firstPage.getSize() + secondPage.getSize());
+        List<OrderDTO> first = firstPage.getOrders();
+        assertTrue(first.get(0).getId() > first.get(first.size() - 1).getId());
+        assertTrue(first.get(first.size() - 1).getId() > secondPage.getOrders().get(0).getId());
+    }
+
+    @Test
+    void testOrdersPageFiltersByStatusAndDateRange() {
+        OrderPageDTO page = adminService.getOrdersPage(OrderStatus.PENDING,
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 20), null, 100);
+
+        // Orders 0, 4, 8, 12 and 16 are pending and dated within the first twenty days
+        assertEquals(5, page.getSize());
+        assertTrue(page.getOrders().stream().allMatch(o -> o.getOrderStatus() == OrderStatus.PENDING));
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
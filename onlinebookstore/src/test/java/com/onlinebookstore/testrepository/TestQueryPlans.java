@@ -0,0 +1,103 @@
+package com.onlinebookstore.testrepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Runs the migrations against H2 in MySQL mode and checks, with EXPLAIN, that the SQL of the
+ * hot finders is answered by the composite indexes, and that the unique indexes hold.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class TestQueryPlans {
+
+    private static final int SUBMITTED_ORDERS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = insertUser("reader@test.com");
+        jdbcTemplate.update("insert into categories (name) values ('Fiction')");
+        long categoryId = jdbcTemplate.queryForObject("select max(id) from categories", Long.class);
+        jdbcTemplate.update("insert into books (title, author, price, category_id) values ('Dune', 'Frank Herbert', 250, ?)",
+                categoryId);
+        long bookId = jdbcTemplate.queryForObject("select max(id) from books", Long.class);
+
+        for (int i = 0; i < SUBMITTED_ORDERS; i++) {
+            insertOrder(userId, 1);
+        }
+        long orderId = insertOrder(userId, 0);
+        jdbcTemplate.update("insert into cart_items (price, quantity, book_id, user_id, order_id) values (250, 1, ?, ?, ?)",
+                bookId, userId, orderId);
+    }
+
+    @Test
+    void testPendingOrderLookupUsesUserStatusIndex() {
+        assertUsesIndex("idx_orders_user_status",
+                "select o.* from orders o where o.user_id = " + userId + " and o.order_status = 0");
+    }
+
+    @Test
+    void testOrdersByStatusUseStatusIndex() {
+        assertUsesIndex("idx_orders_status_id_date",
+                "select o.* from orders o where o.order_status = 1 order by o.id");
+        assertUsesIndex("idx_orders_status_id_date",
+                "select o.id from orders o where o.order_status = 1 and o.date >= date '2025-01-01' "
+                        + "and o.date < date '2026-01-01' and o.id < 40 order by o.id desc limit 20");
+    }
+
+    @Test
+    void testCartLineLookupUsesCompositeIndex() {
+        assertUsesIndex("idx_cart_items_order_book_user",
+                "select c.* from cart_items c where c.user_id = 1 and c.book_id = 1 and c.order_id = 1");
+    }
+
+    @Test
+    void testEmailLookupUsesUniqueIndex() {
+        assertUsesIndex("uk_users_email", "select u.* from users u where u.email = 'reader@test.com' limit 1");
+    }
+
+    @Test
+    void testEmailIsUnique() {
+        assertThrows(DataIntegrityViolationException.class, () -> insertUser("reader@test.com"));
+    }
+
+    @Test
+    void testOnlyOnePendingOrderPerUser() {
+        assertThrows(DataIntegrityViolationException.class, () -> insertOrder(userId, 0));
+
+        // Submitted orders are not constrained, and other users have their own pending order
+        insertOrder(userId, 1);
+        insertOrder(insertUser("other@test.com"), 0);
+    }
+
+    private void assertUsesIndex(String index, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+        assertTrue(plan.toLowerCase().contains(index), () -> "Expected " + index + " in plan:\n" + plan);
+    }
+
+    private long insertUser(String email) {
+        jdbcTemplate.update("insert into users (name, email, password, user_role) values ('Reader', ?, 'secret', 'USER')",
+                email);
+        return jdbcTemplate.queryForObject("select id from users where email = ?", Long.class, email);
+    }
+
+    private long insertOrder(long userId, int orderStatus) {
+        jdbcTemplate.update("insert into orders (user_id, order_status, price, date) values (?, ?, 0, current_timestamp)",
+                userId, orderStatus);
+        return jdbcTemplate.queryForObject("select max(id) from orders", Long.class);
+    }
+}
@@ -0,0 +1,120 @@
+package com.onlinebookstore.testsearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.search.BookSearchIndex;
+
+class TestBookSearchIndex {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookSearchIndex(mock(BookRepository.class));
+        index.upsert(book(1L, "The Hobbit", "J. R. R. Tolkien"));
+        index.upsert(book(2L, "The Lord of the Rings", "J. R. R. Tolkien"));
+        index.upsert(book(3L, "Tolkien: A Biography", "Humphrey Carpenter"));
+        index.upsert(book(4L, "Les Misérables", "Victor Hugo"));
+    }
+
+    @Test
+    void testPrefixMatchesTitleAndAuthor() {
+        List<BookDTO> result = index.search("tolk", 10);
+
+        assertEquals(3, result.size());
+        // a title hit outranks an author hit
+        assertEquals(3L, result.get(0).getId());
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        List<BookDTO> result = index.search("hobbit tolkien", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+    }
+
+    @Test
+    void testAccentsAndCaseAreFolded() {
+        List<BookDTO> result = index.search("MISERABLES", 10);
+
+        assertEquals(1, result.size());
+        assertEquals(4L, result.get(0).getId());
+    }
+
+    @Test
+    void testUpdateAndRemoveKeepIndexCurrent() {
+        index.upsert(book(1L, "There and Back Again", "J. R. R. Tolkien"));
+        assertTrue(index.search("hobbit", 10).isEmpty());
+        assertEquals(1, index.search("back again", 10).size());
+
+        index.remove(2L);
+        assertTrue(index.search("rings", 10).isEmpty());
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void testLimitKeepsBestResults() {
+        List<BookDTO> result = index.search("tolkien", 1);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getId());
+    }
+
+    @Test
+    void testShortTermsMatchWholeTermsOnly() {
+        assertTrue(index.search("ho", 10).isEmpty());
+
+        index.upsert(book(5L, "Go Set a Watchman", "Harper Lee"));
+        List<BookDTO> result = index.search("go", 10);
+        assertEquals(1, result.size());
+        assertEquals(5L, result.get(0).getId());
+    }
+
+    @Test
+    void testPrefixExpandsToEveryMatchingTerm() {
+        for (long id = 100; id < 400; id++) {
+            index.upsert(book(id, "Zzz" + id, "Anonymous"));
+        }
+
+        assertEquals(300, index.search("zzz", 1000).size());
+        assertEquals(300, index.search("zzz anonymous", 1000).size());
+    }
+
+    @Test
+    void testRebuildRequestedDuringRebuildRunsAfterIt() {
+        BookRepository bookRepository = mock(BookRepository.class);
+        BookSearchIndex rebuilt = new BookSearchIndex(bookRepository);
+        when(bookRepository.findBookDTOPage(anyLong(), any(Limit.class)))
+                .thenAnswer(invocation -> {
+                    // A bulk load commits while the first pass is reading
+                    rebuilt.rebuild();
+                    return List.of(book(1L, "The Hobbit", "J. R. R. Tolkien"));
+                })
+                .thenReturn(List.of(book(1L, "The Hobbit", "J. R. R. Tolkien"),
+                        book(2L, "The Silmarillion", "J. R. R. Tolkien")));
+
+        rebuilt.rebuild();
+
+        verify(bookRepository, times(2)).findBookDTOPage(anyLong(), any(Limit.class));
+        assertEquals(2, rebuilt.size());
+        assertEquals(1, rebuilt.search("silmarillion", 10).size());
+    }
+
+    private static BookDTO book(Long id, String title, String author) {
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
@@ -0,0 +1,79 @@
+package com.onlinebookstore.testsearch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.SuggestionDTO;
+import com.onlinebookstore.enums.SuggestionType;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.search.BookSuggester;
+
+class TestBookSuggester {
+
+    private BookSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        suggester = new BookSuggester(mock(BookRepository.class));
+        suggester.upsert(book(1L, "Harry Potter and the Philosopher's Stone", "J. K. Rowling"));
+        suggester.upsert(book(2L, "Harry Potter and the Chamber of Secrets", "J. K. Rowling"));
+        suggester.upsert(book(3L, "Hard Times", "Charles Dickens"));
+    }
+
+    @Test
+    void testCompletesTitlesFromPrefix() {
+        List<SuggestionDTO> result = suggester.suggest("harry p", 10);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(s -> s.getType() == SuggestionType.TITLE));
+    }
+
+    @Test
+    void testCompletesFromLaterWordsAndAuthors() {
+        assertEquals("Hard Times", suggester.suggest("times", 10).get(0).getText());
+
+        List<SuggestionDTO> authors = suggester.suggest("rowl", 10);
+        // two books by the same author collapse into one completion
+        assertEquals(1, authors.size());
+        assertEquals(SuggestionType.AUTHOR, authors.get(0).getType());
+    }
+
+    @Test
+    void testPrefixesBeyondKeyDepthAreFiltered() {
+        List<SuggestionDTO> result = suggester.suggest("harry potter and the chamber", 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Harry Potter and the Chamber of Secrets", result.get(0).getText());
+    }
+
+    @Test
+    void testUpdateAndRemoveKeepTrieCurrent() {
+        suggester.upsert(book(3L, "Great Expectations", "Charles Dickens"));
+        assertTrue(suggester.suggest("hard", 10).isEmpty());
+        assertEquals(1, suggester.suggest("great", 10).size());
+
+        suggester.remove(3L);
+        assertTrue(suggester.suggest("dickens", 10).isEmpty());
+        assertTrue(suggester.suggest("gr", 10).isEmpty());
+    }
+
+    @Test
+    void testLimitIsBounded() {
+        assertEquals(1, suggester.suggest("har", 1).size());
+        assertEquals(3, suggester.suggest("h", 50).size());
+    }
+
+    private static BookDTO book(Long id, String title, String author) {
+        BookDTO book = new BookDTO();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        return book;
+    }
+}
@@ -12,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import com.onlinebookstore.dto.BookDTO;
 import com.onlinebookstore.dto.CategoryDTO;
@@ -20,10 +22,14 @@ import com.onlinebookstore.entity.Book;
 import com.onlinebookstore.entity.Category;
 import com.onlinebookstore.entity.Order;
 import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.event.BookChangedEvent;
+import com.onlinebookstore.event.BookDeletedEvent;
+import com.onlinebookstore.mapper.BookMapper;
 import com.onlinebookstore.repository.BookRepository;
 import com.onlinebookstore.repository.CategoryRepository;
 import com.onlinebookstore.repository.OrderRepository;
 import com.onlinebookstore.service.AdminServiceImpl;
+import com.onlinebookstore.service.CartSummaryService;
 
 class TestAdminServiceImpl {
 
@@ -36,6 +42,15 @@ class TestAdminServiceImpl {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CartSummaryService cartSummaryService;
+
+    @Spy
+    private BookMapper bookMapper = new BookMapper();
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -103,6 +118,7 @@ class TestAdminServiceImpl {
         assertEquals("Book Title", result.getTitle());
         verify(categoryRepository, times(1)).findById(categoryId);
         verify(bookRepository, times(1)).save(any(Book.class));
+        verify(eventPublisher, times(1)).publishEvent(any(BookChangedEvent.class));
     }
 
     @Test
@@ -116,7 +132,9 @@ class TestAdminServiceImpl {
         adminService.deletebook(bookId);
 
         verify(bookRepository, times(1)).findById(bookId);
+        verify(cartSummaryService, times(1)).evictBooks(List.of(bookId));
         verify(bookRepository, times(1)).deleteById(bookId);
+        verify(eventPublisher, times(1)).publishEvent(any(BookDeletedEvent.class));
     }
 
     @Test
@@ -143,23 +161,20 @@ class TestAdminServiceImpl {
     @Test
     void testGetAllBooks() {
 
-    	    List<Book> books = new ArrayList<>();
-    	    Book book = mock(Book.class);
-    	    books.add(book);
-
+    	    List<BookDTO> books = new ArrayList<>();
     	    BookDTO bookDTO = new BookDTO();
     	    bookDTO.setTitle("Book Title");
+    	    books.add(bookDTO);
 
-    	    when(book.getBookDTO()).thenReturn(bookDTO);
-    	    when(bookRepository.findAll()).thenReturn(books);
+    	    when(bookRepository.findAllBookDTOs()).thenReturn(books);
 
     	    List<BookDTO> result = adminService.getAllBooks();
 
     	    assertNotNull(result);
     	    assertEquals(1, result.size());
     	    assertEquals("Book Title", result.get(0).getTitle());
-    	    verify(bookRepository, times(1)).findAll();
-    	    verify(book, times(1)).getBookDTO();
+    	    verify(bookRepository, times(1)).findAllBookDTOs();
+    	    verify(bookRepository, never()).findAll();
     	}
 
     @Test
@@ -0,0 +1,138 @@
+package com.onlinebookstore.testservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.dto.BookImportResultDTO;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.event.CatalogBulkLoadedEvent;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.repository.CategoryRepository;
+import com.onlinebookstore.service.BookImportServiceImpl;
+
+import jakarta.validation.Validation;
+
+@DataJpaTest
+class TestBookImportServiceImpl {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private ApplicationEventPublisher eventPublisher;
+    private BookImportServiceImpl importService;
+    private Long fictionId;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        importService = new BookImportServiceImpl(new JdbcTemplate(dataSource), new TransactionTemplate(transactionManager),
+                categoryRepository, new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                eventPublisher);
+
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        entityManager.flush();
+        fictionId = category.getId();
+    }
+
+    @Test
+    void testCsvImportsValidRowsAndReportsInvalidOnes() throws Exception {
+        StringBuilder csv = new StringBuilder("title,author,price,image_url,category\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Title ").append(i).append(",Author,").append(100 + i).append(",,fiction\n");
+        }
+        csv.append("\"Quoted, title\",\"Multi\nline\",10,,Fiction\n");
+        csv.append("Bad price,Author,ten,,Fiction\n");
+        csv.append("Unknown category,Author,10,,Poetry\n");
+        csv.append(",Author,10,,Fiction\n");
+
+        BookImportResultDTO result = importService.importBooks(DataFormat.CSV, stream(csv.toString()));
+
+        assertEquals(2504, result.getTotalRows());
+        assertEquals(2501, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(2504, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("Invalid price"));
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("Unknown category"));
+        assertEquals("Title is required", result.getErrors().get(2).getMessage());
+        assertEquals(2501, bookRepository.count());
+        assertEquals(1, bookRepository.findAllByTitleContaining("Quoted, title").size());
+        verify(eventPublisher).publishEvent(new CatalogBulkLoadedEvent(2501));
+    }
+
+    @Test
+    void testNdjsonImportsByCategoryId() throws Exception {
+        String ndjson = "{\"title\":\"Dune\",\"author\":\"Frank Herbert\",\"price\":450,\"categoryId\":" + fictionId + "}\n"
+                + "\n"
+                + "{\"title\":\"Emma\",\"author\":\"Jane Austen\",\"price\":300,\"categoryId\":999999}\n"
+                + "not json\n";
+
+        BookImportResultDTO result = importService.importBooks(DataFormat.NDJSON, stream(ndjson));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+        assertEquals(4, result.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void testCsvWithoutRequiredColumnIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importService.importBooks(DataFormat.CSV, stream("title,author\nDune,Frank Herbert\n")));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testCommittedBatchesAreAnnouncedWhenUploadFails() {
+        ReflectionTestUtils.setField(importService, "batchSize", 2);
+        String csv = "title,author,price,category\nDune,Frank Herbert,450,Fiction\nEmma,Jane Austen,300,Fiction\n";
+        InputStream broken = new SequenceInputStream(stream(csv), new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        });
+
+        assertThrows(IOException.class, () -> importService.importBooks(DataFormat.CSV, broken));
+        assertEquals(2, bookRepository.count());
+        verify(eventPublisher).publishEvent(new CatalogBulkLoadedEvent(2));
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,86 @@
+package com.onlinebookstore.testservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.onlinebookstore.dto.BookDTO;
+import com.onlinebookstore.dto.BookPageDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.service.BookPageServiceImpl;
+
+@DataJpaTest
+class TestBookPageServiceImpl {
+
+    private static final int BOOK_COUNT = 45;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private BookPageServiceImpl bookPageService;
+
+    @BeforeEach
+    void setUp() {
+        bookPageService = new BookPageServiceImpl(bookRepository, new BookMapper());
+
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        for (int i = 0; i < BOOK_COUNT; i++) {
+            Book book = new Book();
+            book.setTitle("Title " + i);
+            book.setAuthor("Author");
+            book.setPrice(100 + i);
+            book.setCategory(category);
+            entityManager.persist(book);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testCursorWalksEveryBookOnce() {
+        List<BookDTO> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        BookPageDTO page;
+        do {
+            page = bookPageService.getBooksPage(cursor, 20);
+            seen.addAll(page.getBooks());
+            pageSizes.add(page.getSize());
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertEquals(List.of(20, 20, 5), pageSizes);
+        assertNull(cursor);
+        assertEquals(BOOK_COUNT, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            assertTrue(seen.get(i).getId() > seen.get(i - 1).getId());
+        }
+        assertEquals("Fiction", seen.get(0).getCategoryName());
+    }
+
+    @Test
+    void testExactlyFullLastPageHasNoCursor() {
+        BookPageDTO first = bookPageService.getBooksPage(null, 40);
+        BookPageDTO last = bookPageService.getBooksPage(first.getNextCursor(), 40);
+
+        assertEquals(5, last.getSize());
+        assertFalse(last.isHasMore());
+        assertNull(last.getNextCursor());
+        assertFalse(bookPageService.getBooksPage(null, BOOK_COUNT).isHasMore());
+    }
+}
@@ -0,0 +1,263 @@
+package com.onlinebookstore.testservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import com.onlinebookstore.dto.OrderDTO;
+import com.onlinebookstore.dto.OrderHistoryPageDTO;
+import com.onlinebookstore.dto.OrderItemDTO;
+import com.onlinebookstore.dto.OrderSummaryDTO;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.mapper.BookMapper;
+import com.onlinebookstore.mapper.CartMapper;
+import com.onlinebookstore.mapper.OrderMapper;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.ArchivedCartItemRepository;
+import com.onlinebookstore.repository.ArchivedOrderRepository;
+import com.onlinebookstore.repository.BookRepository;
+import com.onlinebookstore.repository.CartItemsRepository;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.repository.UserRepository;
+import com.onlinebookstore.search.BookSearchIndex;
+import com.onlinebookstore.search.BookSuggester;
+import com.onlinebookstore.service.BookPageService;
+import com.onlinebookstore.service.CartSummaryService;
+import com.onlinebookstore.service.CustomerServiceImpl;
+import com.onlinebookstore.service.OrderArchiveService;
+import com.onlinebookstore.service.OrderArchiveServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+class TestOrderArchiveServiceImpl {
+
+    private static final int OLD_ORDERS = 5;
+    private static final Date CUTOFF = date(LocalDate.of(2024, 1, 1));
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CartItemsRepository cartItemsRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private ArchivedCartItemRepository archivedCartItemRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderArchiveServiceImpl archiveService;
+    private CustomerServiceImpl customerService;
+    private OrderMapper orderMapper;
+    private Long userId;
+    private Long bookId;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        CartMapper cartMapper = new CartMapper();
+        orderMapper = new OrderMapper(cartMapper);
+        BookstoreMetrics metrics = new BookstoreMetrics(meterRegistry);
+        archiveService = new OrderArchiveServiceImpl(orderRepository, cartItemsRepository, archivedOrderRepository,
+                archivedCartItemRepository, orderMapper, metrics);
+        customerService = new CustomerServiceImpl(bookRepository, orderRepository, cartItemsRepository,
+                userRepository, new BookMapper(), cartMapper, orderMapper, mock(BookSearchIndex.class),
+                mock(BookSuggester.class), metrics, mock(CartSummaryService.class), archiveService,
+                mock(BookPageService.class));
+
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        Book book = new Book();
+        book.setTitle("Dune");
+        book.setAuthor("Frank Herbert");
+        book.setPrice(250);
+        book.setCategory(category);
+        entityManager.persist(book);
+        User user = new User();
+        user.setName("Reader");
+        user.setEmail("reader@test.com");
+        user.setPassword("secret");
+        user.setUserRole(UserRole.USER);
+        entityManager.persist(user);
+
+        for (int o = 0; o < OLD_ORDERS; o++) {
+            order(user, book, OrderStatus.SUBMITTED, date(LocalDate.of(2020, 1, 1).plusDays(o)));
+        }
+        order(user, book, OrderStatus.SUBMITTED, date(LocalDate.of(2025, 1, 1)));
+        // A cart left pending for years is still a cart, never archived
+        order(user, book, OrderStatus.PENDING, date(LocalDate.of(2020, 1, 1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        userId = user.getId();
+        bookId = book.getId();
+    }
+
+    @Test
+    void testMovesOldSubmittedOrdersInBoundedBatches() {
+        assertEquals(2, archiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(2, archiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(1, archiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(0, archiveService.archiveBatch(CUTOFF, 2));
+
+        assertEquals(2, orderRepository.count());
+        assertEquals(2, cartItemsRepository.count());
+        assertEquals(OLD_ORDERS, archivedOrderRepository.count());
+        assertEquals(OLD_ORDERS, meterRegistry.get("bookstore.orders").tag("event", "archived").counter().count());
+    }
+
+    @Test
+    void testHistoryListsHotOrdersThenArchivedOnes() {
+        archiveService.archiveBatch(CUTOFF, 100);
+        // Archived lines keep their book title after the book is gone
+        bookRepository.deleteById(bookId);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderDTO> hotOrders = orderRepository.findAllByUserIdAndOrderStatus(userId, OrderStatus.SUBMITTED)
+                .stream().map(orderMapper::toDTO).toList();
+        List<OrderDTO> history = archiveService.withArchivedOrders(userId, hotOrders);
+
+        assertEquals(1, hotOrders.size());
+        assertEquals(1 + OLD_ORDERS, history.size());
+        assertEquals(hotOrders.get(0).getId(), history.get(0).getId());
+        OrderDTO archived = history.get(1);
+        assertEquals(OrderStatus.SUBMITTED, archived.getOrderStatus());
+        assertEquals("Reader", archived.getUsername());
+        assertEquals(1, archived.getCartDTO().size());
+        assertEquals("Dune", archived.getCartDTO().get(0).getBookTitle());
+        assertEquals(250L, archived.getCartDTO().get(0).getPrice());
+    }
+
+    @Test
+    void testOrderInBothReadsIsListedOnce() {
+        List<OrderDTO> hotOrders = orderRepository.findAllByOrderStatus(OrderStatus.SUBMITTED)
+                .stream().map(orderMapper::toDTO).toList();
+        // Archived after the hot read, as a concurrent job run would
+        archiveService.archiveBatch(CUTOFF, 100);
+
+        List<OrderDTO> orders = archiveService.withArchivedOrders(hotOrders);
+
+        assertEquals(1 + OLD_ORDERS, orders.size());
+        assertEquals(1 + OLD_ORDERS, orders.stream().map(OrderDTO::getId).distinct().count());
+    }
+
+    @Test
+    void testUnpagedHistoryReadsArchiveOnlyToTheBound() {
+        archiveService.archiveBatch(CUTOFF, 100);
+        User user = entityManager.find(User.class, userId);
+        Book book = entityManager.find(Book.class, bookId);
+        // With the order left hot, one short of the bound
+        for (int o = 2; o < OrderArchiveService.MAX_UNPAGED_ORDERS; o++) {
+            order(user, book, OrderStatus.SUBMITTED, date(LocalDate.of(2025, 2, 1)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<OrderDTO> history = customerService.getOrdersByUserId(userId);
+
+        assertEquals(OrderArchiveService.MAX_UNPAGED_ORDERS, history.size());
+        // The newest archived order tops the list up
+        Long newestArchived = history.get(history.size() - 1).getId();
+        assertEquals(archivedOrderRepository.findNewestIds(userId, OrderStatus.SUBMITTED, Limit.of(1)).get(0),
+                newestArchived);
+    }
+
+    @Test
+    void testHistoryPagesContinueFromHotIntoArchive() {
+        // The three oldest orders are archived, the other three stay hot
+        archiveService.archiveBatch(CUTOFF, 3);
+        entityManager.clear();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        OrderHistoryPageDTO page;
+        do {
+            page = customerService.getOrderHistory(userId, cursor, 2);
+            assertTrue(page.getSize() <= 2);
+            page.getOrders().stream().map(OrderSummaryDTO::id).forEach(ids::add);
+            cursor = page.getNextCursor();
+        } while (page.isHasMore());
+
+        assertEquals(1 + OLD_ORDERS, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) > ids.get(i));
+        }
+        OrderSummaryDTO oldest = customerService.getOrderHistory(userId, null, 100).getOrders().get(OLD_ORDERS);
+        assertEquals(OrderStatus.SUBMITTED, oldest.orderStatus());
+        assertEquals(250L, oldest.amount());
+    }
+
+    @Test
+    void testOrderItemsAreBatchedAcrossHotAndArchive() {
+        archiveService.archiveBatch(CUTOFF, 3);
+        entityManager.clear();
+        List<Long> ids = customerService.getOrderHistory(userId, null, 100).getOrders().stream()
+                .map(OrderSummaryDTO::id).toList();
+        Long hotId = ids.get(0);
+        Long archivedId = ids.get(ids.size() - 1);
+
+        Map<Long, List<OrderItemDTO>> items = customerService.getOrderItems(userId, List.of(hotId, archivedId));
+
+        assertEquals(List.of(hotId, archivedId), List.copyOf(items.keySet()));
+        assertEquals("Dune", items.get(hotId).get(0).bookTitle());
+        assertEquals("Dune", items.get(archivedId).get(0).bookTitle());
+        assertEquals(1L, items.get(archivedId).get(0).quantity());
+        // Another user's view of the same orders is empty
+        assertTrue(customerService.getOrderItems(userId + 1, List.of(hotId, archivedId)).values().stream()
+                .allMatch(List::isEmpty));
+        assertThrows(IllegalArgumentException.class, () -> customerService.getOrderItems(userId, List.of()));
+    }
+
+    private void order(User user, Book book, OrderStatus status, Date date) {
+        Order order = new Order();
+        order.setUser(user);
+        order.setOrderStatus(status);
+        order.setDate(date);
+        order.setPrice((long) book.getPrice());
+        entityManager.persist(order);
+
+        CartItems cartItem = new CartItems();
+        cartItem.setBook(book);
+        cartItem.setUser(user);
+        cartItem.setOrder(order);
+        cartItem.setQuantity(1L);
+        cartItem.setPrice(book.getPrice());
+        entityManager.persist(cartItem);
+    }
+
+    private static Date date(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
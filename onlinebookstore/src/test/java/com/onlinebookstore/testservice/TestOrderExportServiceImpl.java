@@ -0,0 +1,121 @@
+package com.onlinebookstore.testservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.entity.Book;
+import com.onlinebookstore.entity.CartItems;
+import com.onlinebookstore.entity.Category;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.DataFormat;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.service.OrderExportServiceImpl;
+
+@DataJpaTest
+class TestOrderExportServiceImpl {
+
+    private static final int ORDER_COUNT = 25;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OrderExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new OrderExportServiceImpl(orderRepository, objectMapper);
+
+        Category category = new Category();
+        category.setName("Fiction");
+        entityManager.persist(category);
+        Book book = new Book();
+        book.setTitle("War, and \"Peace\"");
+        book.setAuthor("Leo Tolstoy");
+        book.setPrice(300);
+        book.setCategory(category);
+        entityManager.persist(book);
+
+        User user = new User();
+        user.setName("Reader");
+        user.setEmail("reader@test.com");
+        user.setPassword("secret");
+        user.setUserRole(UserRole.USER);
+        entityManager.persist(user);
+
+        for (int o = 0; o < ORDER_COUNT; o++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.SUBMITTED);
+            order.setDate(new Date());
+            order.setAddress("Street " + o);
+            order.setPrice(600L);
+            entityManager.persist(order);
+
+            // Every other order has two lines, the rest none
+            for (int i = 0; i < (o % 2 == 0 ? 2 : 0); i++) {
+                CartItems cartItem = new CartItems();
+                cartItem.setBook(book);
+                cartItem.setUser(user);
+                cartItem.setOrder(order);
+                cartItem.setQuantity(1L);
+                cartItem.setPrice(300);
+                entityManager.persist(cartItem);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testNdjsonWritesOneObjectPerOrder() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(DataFormat.NDJSON, OrderStatus.SUBMITTED, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ORDER_COUNT, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("Street 0", first.get("address").asText());
+        assertEquals(2, first.get("items").size());
+        assertEquals("War, and \"Peace\"", first.get("items").get(0).get("bookTitle").asText());
+        assertEquals(0, objectMapper.readTree(lines[1]).get("items").size());
+    }
+
+    @Test
+    void testCsvWritesOneRowPerLineWithQuoting() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(DataFormat.CSV, OrderStatus.SUBMITTED, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        int orderLines = (ORDER_COUNT + 1) / 2 * 2 + ORDER_COUNT / 2;
+        assertEquals(1 + orderLines, lines.length);
+        assertTrue(lines[0].startsWith("order_id,"));
+        assertTrue(lines[1].contains(",\"War, and \"\"Peace\"\"\","));
+    }
+
+    @Test
+    void testOtherStatusesAreExcluded() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportOrders(DataFormat.NDJSON, OrderStatus.PENDING, out);
+
+        assertEquals(0, out.size());
+    }
+}
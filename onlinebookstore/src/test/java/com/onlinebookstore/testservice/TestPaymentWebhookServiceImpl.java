@@ -0,0 +1,179 @@
+package com.onlinebookstore.testservice;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onlinebookstore.cache.PaymentStateCache;
+import com.onlinebookstore.entity.Order;
+import com.onlinebookstore.entity.PaymentEvent;
+import com.onlinebookstore.entity.User;
+import com.onlinebookstore.enums.OrderStatus;
+import com.onlinebookstore.enums.PaymentEventStatus;
+import com.onlinebookstore.enums.UserRole;
+import com.onlinebookstore.event.PaymentEventReceivedEvent;
+import com.onlinebookstore.metrics.BookstoreMetrics;
+import com.onlinebookstore.repository.OrderRepository;
+import com.onlinebookstore.repository.PaymentEventRepository;
+import com.onlinebookstore.repository.UserRepository;
+import com.onlinebookstore.service.CartSummaryService;
+import com.onlinebookstore.service.PaymentWebhookServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Webhook deliveries against a real database, each step committed on its own, as the
+ * request thread and the event worker would.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:payment-webhooks;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=" })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TestPaymentWebhookServiceImpl {
+
+    private static final String SECRET = "whsec_test";
+
+    @Autowired
+    private PaymentEventRepository paymentEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private PaymentWebhookServiceImpl webhookService;
+    private TransactionTemplate transactionTemplate;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        webhookService = new PaymentWebhookServiceImpl(paymentEventRepository, orderRepository, new ObjectMapper(),
+                eventPublisher, mock(PaymentStateCache.class), mock(CartSummaryService.class),
+                new BookstoreMetrics(meterRegistry), SECRET, Duration.ofMinutes(5));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // One transaction, so the order cascades to a managed user rather than a detached one
+        orderId = transactionTemplate.execute(status -> {
+            User user = new User();
+            user.setName("Reader");
+            user.setEmail("reader@test.com");
+            user.setPassword("secret");
+            user.setUserRole(UserRole.USER);
+            userRepository.save(user);
+
+            Order order = new Order();
+            order.setUser(user);
+            order.setOrderStatus(OrderStatus.PENDING);
+            order.setPrice(500L);
+            return orderRepository.save(order).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        paymentEventRepository.deleteAll();
+        orderRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testRecordsVerifiedEventOnceAndPublishesIt() throws Exception {
+        String payload = succeeded("evt_1", orderId);
+
+        assertTrue(webhookService.receive(payload, sign(payload, SECRET)));
+        assertFalse(webhookService.receive(payload, sign(payload, SECRET)));
+
+        PaymentEvent event = paymentEventRepository.findById("evt_1").orElseThrow();
+        assertEquals(PaymentEventStatus.RECEIVED, event.getStatus());
+        assertEquals("pi_1", event.getPaymentIntentId());
+        assertEquals(orderId, event.getOrderId());
+        verify(eventPublisher, times(1)).publishEvent(new PaymentEventReceivedEvent("evt_1"));
+        assertEquals(1, meterRegistry.get("bookstore.payment.webhooks").tag("outcome", "recorded").counter().count());
+        assertEquals(1, meterRegistry.get("bookstore.payment.webhooks").tag("outcome", "duplicate").counter().count());
+    }
+
+    @Test
+    void testRejectsBadSignature() throws Exception {
+        String payload = succeeded("evt_1", orderId);
+
+        assertThrows(IllegalArgumentException.class, () -> webhookService.receive(payload, sign(payload, "whsec_other")));
+        assertThrows(IllegalArgumentException.class,
+                () -> webhookService.receive(payload.replace("pi_1", "pi_2"), sign(payload, SECRET)));
+        assertEquals(0, paymentEventRepository.count());
+    }
+
+    @Test
+    void testProcessingSubmitsOrderOnce() throws Exception {
+        String payload = succeeded("evt_1", orderId);
+        webhookService.receive(payload, sign(payload, SECRET));
+
+        transactionTemplate.executeWithoutResult(status -> webhookService.process("evt_1"));
+        Order order = orderRepository.findById(orderId).orElseThrow();
+        Date submittedAt = order.getDate();
+        assertEquals(OrderStatus.SUBMITTED, order.getOrderStatus());
+        assertEquals("STRIPE", order.getPaymentType());
+        assertEquals(PaymentEventStatus.PROCESSED, paymentEventRepository.findById("evt_1").orElseThrow().getStatus());
+
+        // A second worker, or a second event for the same payment, changes nothing
+        String again = succeeded("evt_2", orderId);
+        webhookService.receive(again, sign(again, SECRET));
+        transactionTemplate.executeWithoutResult(status -> webhookService.process("evt_1"));
+        transactionTemplate.executeWithoutResult(status -> webhookService.process("evt_2"));
+        assertEquals(submittedAt, orderRepository.findById(orderId).orElseThrow().getDate());
+        assertEquals(1, meterRegistry.get("bookstore.orders").tag("event", "paid").counter().count());
+    }
+
+    @Test
+    void testIgnoresEventsOtherThanPaymentIntents() throws Exception {
+        String payload = "{\"id\":\"evt_9\",\"type\":\"customer.created\",\"data\":{\"object\":{\"id\":\"cus_1\"}}}";
+
+        assertTrue(webhookService.receive(payload, sign(payload, SECRET)));
+        assertEquals(0, paymentEventRepository.count());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static String succeeded(String eventId, Long orderId) {
+        return "{\"id\":\"" + eventId + "\",\"object\":\"event\",\"type\":\"payment_intent.succeeded\","
+                + "\"data\":{\"object\":{\"id\":\"pi_1\",\"object\":\"payment_intent\",\"status\":\"succeeded\","
+                + "\"metadata\":{\"orderId\":\"" + orderId + "\"}}}}";
+    }
+
+    private static String sign(String payload, String secret) throws Exception {
+        long timestamp = System.currentTimeMillis() / 1000;
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] signature = mac.doFinal((timestamp + "." + payload).getBytes(StandardCharsets.UTF_8));
+        return "t=" + timestamp + ",v1=" + HexFormat.of().formatHex(signature);
+    }
+}
@@ -0,0 +1,44 @@
+package com.onlinebookstore.testutil;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.onlinebookstore.exception.GlobalExceptionHandler;
+import com.onlinebookstore.util.CursorUtil;
+
+class TestCursorUtil {
+
+    @Test
+    void testCursorRoundTrips() {
+        assertEquals(42L, CursorUtil.decode(CursorUtil.encode(42L)));
+        assertEquals(0L, CursorUtil.decode(null));
+        assertEquals(0L, CursorUtil.decode(" "));
+        assertNull(CursorUtil.encode(null));
+    }
+
+    @Test
+    void testPageSizeIsClamped() {
+        assertEquals(CursorUtil.DEFAULT_PAGE_SIZE, CursorUtil.clampPageSize(null));
+        assertEquals(CursorUtil.DEFAULT_PAGE_SIZE, CursorUtil.clampPageSize(0));
+        assertEquals(CursorUtil.DEFAULT_PAGE_SIZE, CursorUtil.clampPageSize(-5));
+        assertEquals(35, CursorUtil.clampPageSize(35));
+        assertEquals(CursorUtil.MAX_PAGE_SIZE, CursorUtil.clampPageSize(CursorUtil.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testMalformedCursorIsBadRequest() {
+        String foreignPrefix = Base64.getUrlEncoder().encodeToString("offset:40".getBytes(StandardCharsets.UTF_8));
+        String notANumber = Base64.getUrlEncoder().encodeToString("id:forty".getBytes(StandardCharsets.UTF_8));
+        for (String cursor : new String[] { "not base64!", foreignPrefix, notANumber }) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> CursorUtil.decode(cursor));
+            assertEquals("Invalid cursor", e.getMessage());
+            assertEquals(HttpStatus.BAD_REQUEST,
+                    new GlobalExceptionHandler().handleIllegalArgumentException(e).getStatusCode());
+        }
+    }
+}